@@ -1,9 +1,17 @@
 package top.zeronight.forgerlauncher;
 
+import top.zeronight.forgerlauncher.config.LauncherConfig;
+import top.zeronight.forgerlauncher.log.ConsoleLogSearcher;
+import top.zeronight.forgerlauncher.log.ConsoleLogWriter;
+import top.zeronight.forgerlauncher.mods.ModPreflightChecker;
 import top.zeronight.forgerlauncher.parser.ArgumentParser;
 import top.zeronight.forgerlauncher.parser.JvmArgsReader;
 import top.zeronight.forgerlauncher.platform.PlatformDetector;
+import top.zeronight.forgerlauncher.process.CpuPlacement;
+import top.zeronight.forgerlauncher.process.NativeProfileComparison;
 import top.zeronight.forgerlauncher.process.ProcessManager;
+import top.zeronight.forgerlauncher.runtime.JavaRuntime;
+import top.zeronight.forgerlauncher.runtime.JavaRuntimeDetector;
 import top.zeronight.forgerlauncher.util.ConsoleUtils;
 import top.zeronight.forgerlauncher.version.VersionDetector;
 import top.zeronight.forgerlauncher.version.VersionInfo;
@@ -11,6 +19,7 @@ import top.zeronight.forgerlauncher.version.VersionInfo;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,7 +29,16 @@ import java.util.Optional;
  */
 public class ForgeServerLauncher {
 
+    private static final String COMPARE_NATIVE_PROFILES_ARG = "--compare-native-profiles";
+    private static final String LOGS_ARG = "--logs";
+
     public static void main(String[] args) {
+        // --logs 子命令：搜索分段控制台日志，不启动服务器
+        if (args.length > 0 && LOGS_ARG.equals(args[0])) {
+            searchLogs(Arrays.asList(args).subList(1, args.length));
+            return;
+        }
+
         // 打印当前工作目录
         ConsoleUtils.logInfo("Current working directory: " + new File(".").getAbsolutePath());
 
@@ -28,6 +46,9 @@ public class ForgeServerLauncher {
         PlatformDetector.OperatingSystem currentOs = PlatformDetector.detect();
         ConsoleUtils.logDebug("Detected operating system: " + currentOs);
 
+        // 读取启动器配置
+        LauncherConfig config = LauncherConfig.load(LauncherConfig.DEFAULT_FILE_NAME);
+
         // 扫描版本目录
         VersionDetector versionDetector = new VersionDetector();
         List<VersionInfo> versionInfos = versionDetector.scanVersions(new File("libraries"));
@@ -65,7 +86,23 @@ public class ForgeServerLauncher {
             return;
         }
 
-        ConsoleUtils.logInfo("Using Java from current process: " + javaExecutable);
+        // 选择与服务端版本兼容的最新 Java 运行时
+        JavaRuntimeDetector runtimeDetector = new JavaRuntimeDetector(config);
+        Optional<JavaRuntime> selectedRuntime = runtimeDetector.selectRuntime(latestVersion);
+        int launcherJavaVersion = Runtime.version().feature();
+        boolean runtimeChanged = selectedRuntime.isPresent()
+                && selectedRuntime.get().getFeatureVersion() != launcherJavaVersion;
+        if (selectedRuntime.isPresent()) {
+            javaExecutable = selectedRuntime.get().getExecutable().getAbsolutePath();
+            if (runtimeChanged) {
+                ConsoleUtils.logWarn("Switching Java runtime from the launcher's Java " + Runtime.version()
+                        + " to Java " + selectedRuntime.get().getVersion() + ": " + javaExecutable);
+            } else {
+                ConsoleUtils.logInfo("Using Java " + selectedRuntime.get().getVersion() + ": " + javaExecutable);
+            }
+        } else {
+            ConsoleUtils.logInfo("Using Java from current process: " + javaExecutable);
+        }
 
         // 读取 JVM 参数
         JvmArgsReader jvmArgsReader = new JvmArgsReader();
@@ -82,17 +119,43 @@ public class ForgeServerLauncher {
         // 从命令行提取其他 JVM 参数
         List<String> cliJvmArgs = jvmArgsReader.extractOtherJvmArgs(allJvmArgs);
 
+        // 切换了 Java 主版本时，启动器命令行上的 VM 选项可能不被新运行时识别（如 -XX:+ZGenerational），
+        // 只保留与版本无关的 -Xmx/-Xms 和系统属性
+        if (runtimeChanged) {
+            List<String> portableArgs = new ArrayList<>();
+            List<String> droppedArgs = new ArrayList<>();
+            for (String arg : cliJvmArgs) {
+                if (xmxXmsArgs.contains(arg) || arg.startsWith("-D")) {
+                    portableArgs.add(arg);
+                } else {
+                    droppedArgs.add(arg);
+                }
+            }
+            if (!droppedArgs.isEmpty()) {
+                ConsoleUtils.logWarn("Not passing the launcher's JVM options to Java " + selectedRuntime.get().getFeatureVersion()
+                        + ": " + String.join(" ", droppedArgs) + " (put them in user_jvm_args.txt to keep them)");
+            }
+            cliJvmArgs = portableArgs;
+        }
+
         // 合并所有 JVM 参数
         List<String> mergedJvmArgs = jvmArgsReader.mergeJvmArgs(userJvmArgs, xmxXmsArgs, cliJvmArgs);
 
+        // 提取启动器自身的参数，其余参数传递给服务端
+        List<String> serverArgs = new ArrayList<>(Arrays.asList(args));
+        boolean compareNativeProfiles = serverArgs.remove(COMPARE_NATIVE_PROFILES_ARG);
+
         // 构建最终启动命令
         List<String> finalCommand = buildFinalCommand(
                 javaExecutable,
                 mergedJvmArgs,
-                args,
+                serverArgs.toArray(new String[0]),
                 launchArguments
         );
 
+        // 按配置为子进程分配 CPU 并设置调度优先级
+        finalCommand = new CpuPlacement(config).apply(finalCommand);
+
         // 获取 JAR 所在目录作为工作目录
         File workDir = getJarDirectory();
         if (workDir == null) {
@@ -100,11 +163,47 @@ public class ForgeServerLauncher {
             return;
         }
 
+        // 启动前检查 mods 目录，尽早发现重复模组和缺失依赖
+        ModPreflightChecker preflightChecker = new ModPreflightChecker(config, latestVersion.getType());
+        if (!preflightChecker.run(new File(workDir, "mods"))) {
+            return;
+        }
+
+        // 对比各原生内存配置下的 RSS
+        if (compareNativeProfiles) {
+            new NativeProfileComparison(config).run(finalCommand, workDir);
+            return;
+        }
+
         // 启动服务器
-        ProcessManager processManager = new ProcessManager();
+        ProcessManager processManager = new ProcessManager(config);
         processManager.launchServer(finalCommand, workDir);
     }
 
+    /**
+     * 搜索分段控制台日志
+     *
+     * @param searchArgs --logs 之后的参数
+     */
+    private static void searchLogs(List<String> searchArgs) {
+        LauncherConfig config = LauncherConfig.load(LauncherConfig.DEFAULT_FILE_NAME);
+        File workDir = getJarDirectory();
+        if (workDir == null) {
+            ConsoleUtils.logError("Failed to determine JAR directory.");
+            System.exit(1);
+        }
+
+        File logDir = ConsoleLogWriter.getLogDirectory(config, workDir);
+        if (!logDir.isDirectory()) {
+            ConsoleUtils.logError("Console log directory not found: " + logDir.getAbsolutePath());
+            System.exit(1);
+        }
+
+        if (!new ConsoleLogSearcher(logDir, System.out).run(searchArgs)) {
+            System.exit(2);
+        }
+    }
+
     /**
      * 获取 Java 可执行文件路径
      *
@@ -0,0 +1,173 @@
+package top.zeronight.forgerlauncher.config;
+
+import top.zeronight.forgerlauncher.util.ConsoleUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 启动器配置，从 launcher.properties 中读取各项功能的可选配置
+ * 文件不存在或键缺失时使用调用方提供的默认值
+ */
+public class LauncherConfig {
+
+    public static final String DEFAULT_FILE_NAME = "launcher.properties";
+
+    private final Properties properties;
+
+    private LauncherConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 创建一个不包含任何配置项的实例，所有查询都返回默认值
+     *
+     * @return 空配置
+     */
+    public static LauncherConfig empty() {
+        return new LauncherConfig(new Properties());
+    }
+
+    /**
+     * 从文件加载配置
+     *
+     * @param filePath 配置文件路径
+     * @return 配置实例，文件不存在或读取失败时返回空配置
+     */
+    public static LauncherConfig load(String filePath) {
+        File file = new File(filePath);
+        Properties properties = new Properties();
+
+        if (!file.exists()) {
+            ConsoleUtils.logDebug(filePath + " not found, using default launcher settings.");
+            return new LauncherConfig(properties);
+        }
+
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            ConsoleUtils.logDebug("Loaded launcher settings from " + file.getAbsolutePath());
+        } catch (IOException e) {
+            ConsoleUtils.logError("Error reading " + filePath + ": " + e.getMessage());
+        }
+
+        return new LauncherConfig(properties);
+    }
+
+    /**
+     * 读取字符串配置
+     *
+     * @param key          配置键
+     * @param defaultValue 默认值
+     * @return 去除首尾空白后的值，缺失或为空时返回默认值
+     */
+    public String getString(String key, String defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return value.trim();
+    }
+
+    /**
+     * 读取整数配置
+     *
+     * @param key          配置键
+     * @param defaultValue 默认值
+     * @return 配置值，无法解析时返回默认值
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            ConsoleUtils.logWarn("Invalid integer for " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * 读取长整数配置
+     *
+     * @param key          配置键
+     * @param defaultValue 默认值
+     * @return 配置值，无法解析时返回默认值
+     */
+    public long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            ConsoleUtils.logWarn("Invalid number for " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * 读取浮点数配置
+     *
+     * @param key          配置键
+     * @param defaultValue 默认值
+     * @return 配置值，无法解析时返回默认值
+     */
+    public double getDouble(String key, double defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            ConsoleUtils.logWarn("Invalid number for " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * 读取布尔配置
+     *
+     * @param key          配置键
+     * @param defaultValue 默认值
+     * @return 配置值（true/yes/on 视为真）
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        return "true".equalsIgnoreCase(value) || "yes".equalsIgnoreCase(value) || "on".equalsIgnoreCase(value);
+    }
+
+    /**
+     * 读取以逗号分隔的列表配置
+     *
+     * @param key 配置键
+     * @return 去除空白和空项后的列表，缺失时返回空列表
+     */
+    public List<String> getList(String key) {
+        List<String> values = new ArrayList<>();
+        String value = getString(key, null);
+        if (value == null) {
+            return values;
+        }
+        for (String item : value.split(",")) {
+            String trimmed = item.trim();
+            if (!trimmed.isEmpty()) {
+                values.add(trimmed);
+            }
+        }
+        return values;
+    }
+}
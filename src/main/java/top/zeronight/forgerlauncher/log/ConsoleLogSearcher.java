@@ -0,0 +1,355 @@
+package top.zeronight.forgerlauncher.log;
+
+import top.zeronight.forgerlauncher.util.ConsoleUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 分段控制台日志搜索器，对应 --logs 子命令
+ * 先用已完整写入的分段元数据跳过时间范围或级别不匹配的分段，再通过稀疏索引二分定位起止偏移，
+ * 最后对内存映射的分段做字节扫描；不含正则元字符的 --grep 直接按字节查找
+ *
+ * <p>用法：--logs [--from 时间] [--to 时间] [--level 级别] [--grep 正则] [--limit 行数]
+ * <br>时间可以是 "2026-10-19 12:00[:ss]"、"12:00"（今天）、"30m"/"2h"/"1d"（距现在）或毫秒时间戳
+ */
+public class ConsoleLogSearcher {
+
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final File dir;
+    private final PrintStream out;
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+    private long from = Long.MIN_VALUE;
+    private long to = Long.MAX_VALUE;
+    private LogLevel minLevel;
+    private Pattern pattern;
+    private byte[] literal;
+    private long limit = 1000;
+    private long matches;
+
+    public ConsoleLogSearcher(File dir, PrintStream out) {
+        this.dir = dir;
+        this.out = out;
+    }
+
+    /**
+     * 解析命令行参数并执行搜索
+     *
+     * @param args --logs 之后的参数
+     * @return 成功返回 true，参数错误返回 false
+     */
+    public boolean run(List<String> args) {
+        try {
+            for (int i = 0; i < args.size(); i++) {
+                String arg = args.get(i);
+                String value = i + 1 < args.size() ? args.get(i + 1) : null;
+                if (value == null) {
+                    ConsoleUtils.logError("Missing value for " + arg);
+                    return false;
+                }
+                i++;
+                switch (arg) {
+                    case "--from":
+                        from = parseTime(value);
+                        break;
+                    case "--to":
+                        to = parseTime(value);
+                        break;
+                    case "--level":
+                        minLevel = LogLevel.parse(value);
+                        break;
+                    case "--grep":
+                        pattern = Pattern.compile(value);
+                        if (isLiteral(value)) {
+                            literal = value.getBytes(StandardCharsets.UTF_8);
+                        }
+                        break;
+                    case "--limit":
+                        limit = Long.parseLong(value);
+                        break;
+                    default:
+                        ConsoleUtils.logError("Unknown --logs option: " + arg);
+                        return false;
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            ConsoleUtils.logError("Invalid --logs option: " + e.getMessage());
+            return false;
+        }
+
+        search();
+        return true;
+    }
+
+    private void search() {
+        long startedAt = System.nanoTime();
+        List<LogSegment> segments = LogSegment.list(dir);
+        int scanned = 0;
+        long scannedBytes = 0;
+
+        for (int i = 0; i < segments.size(); i++) {
+            LogSegment segment = segments.get(i);
+            if (limit > 0 && matches >= limit) {
+                break;
+            }
+            // 最新分段和元数据落后于日志文件的分段只依赖 scanSegment 中的索引范围检查
+            segment.loadMeta();
+            boolean newest = i == segments.size() - 1;
+            if (!newest && segment.isMetaCurrent()) {
+                if (segment.getLastTimestamp() < from || segment.getFirstTimestamp() > to) {
+                    continue;
+                }
+                if (minLevel != null && !segment.mayContain(minLevel)) {
+                    continue;
+                }
+            }
+
+            try {
+                scannedBytes += scanSegment(segment);
+                scanned++;
+            } catch (IOException e) {
+                ConsoleUtils.logWarn("Failed to read " + segment.getLogFile().getName() + ": " + e.getMessage());
+            }
+        }
+
+        ConsoleUtils.logInfo(String.format("%d matching line(s), scanned %d of %d segment(s) (%.1fMB) in %.1fms%s",
+                matches, scanned, segments.size(), scannedBytes / 1048576.0, (System.nanoTime() - startedAt) / 1e6,
+                limit > 0 && matches >= limit ? " (limit reached, use --limit to raise it)" : ""));
+    }
+
+    /**
+     * 扫描单个分段
+     *
+     * @param segment 分段
+     * @return 扫描的字节数
+     */
+    private long scanSegment(LogSegment segment) throws IOException {
+        long[] timestamps;
+        long[] offsets;
+        try (RandomAccessFile indexFile = new RandomAccessFile(segment.getIndexFile(), "r");
+             FileChannel channel = indexFile.getChannel()) {
+            int entries = (int) (channel.size() / LogSegment.INDEX_ENTRY_BYTES);
+            LongBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, (long) entries * LogSegment.INDEX_ENTRY_BYTES).asLongBuffer();
+            timestamps = new long[entries];
+            offsets = new long[entries];
+            for (int i = 0; i < entries; i++) {
+                timestamps[i] = index.get(i * 2);
+                offsets[i] = index.get(i * 2 + 1);
+            }
+        }
+
+        if (timestamps.length == 0 || timestamps[timestamps.length - 1] < from || timestamps[0] > to) {
+            return 0;
+        }
+
+        try (RandomAccessFile logFile = new RandomAccessFile(segment.getLogFile(), "r");
+             FileChannel channel = logFile.getChannel()) {
+            long size = channel.size();
+            // 第一个时间戳不晚于 from 的索引项，以及第一个时间戳晚于 to 的索引项
+            int startEntry = Math.max(0, lastAtOrBefore(timestamps, from));
+            int endEntry = lastAtOrBefore(timestamps, to) + 1;
+            long start = offsets[startEntry];
+            long end = endEntry < offsets.length ? offsets[endEntry] : size;
+            if (end <= start) {
+                return 0;
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            if (literal != null) {
+                scanLiteral(buffer, start, timestamps, offsets);
+            } else {
+                scanLines(buffer, start, timestamps, offsets);
+            }
+            return end - start;
+        }
+    }
+
+    /**
+     * 逐行扫描
+     */
+    private void scanLines(ByteBuffer buffer, long base, long[] timestamps, long[] offsets) {
+        int limitPosition = buffer.limit();
+        int lineStart = 0;
+        int entry = entryFor(offsets, base);
+        for (int i = 0; i < limitPosition; i++) {
+            if (buffer.get(i) != '\n') {
+                continue;
+            }
+            while (entry + 1 < offsets.length && offsets[entry + 1] <= base + lineStart) {
+                entry++;
+            }
+            if (!emit(buffer, lineStart, i, timestamps[entry])) {
+                return;
+            }
+            lineStart = i + 1;
+        }
+    }
+
+    /**
+     * 按字节查找字面量，命中后再扩展到整行
+     */
+    private void scanLiteral(ByteBuffer buffer, long base, long[] timestamps, long[] offsets) {
+        int limitPosition = buffer.limit();
+        byte first = literal[0];
+        int i = 0;
+        while (i <= limitPosition - literal.length) {
+            if (buffer.get(i) != first || !matchesAt(buffer, i)) {
+                i++;
+                continue;
+            }
+
+            int lineStart = i;
+            while (lineStart > 0 && buffer.get(lineStart - 1) != '\n') {
+                lineStart--;
+            }
+            int lineEnd = i;
+            while (lineEnd < limitPosition && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            long timestamp = timestamps[entryFor(offsets, base + lineStart)];
+            if (!emit(buffer, lineStart, lineEnd, timestamp)) {
+                return;
+            }
+            i = lineEnd + 1;
+        }
+    }
+
+    /**
+     * 对一行应用过滤条件并输出
+     *
+     * @return 是否继续扫描
+     */
+    private boolean emit(ByteBuffer buffer, int lineStart, int lineEnd, long timestamp) {
+        byte[] bytes = new byte[lineEnd - lineStart];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(lineStart + i);
+        }
+        String line = new String(bytes, StandardCharsets.UTF_8);
+
+        if (minLevel != null) {
+            LogLevel level = LogLevel.detect(line);
+            if (level == LogLevel.UNKNOWN || level.ordinal() < minLevel.ordinal()) {
+                return true;
+            }
+        }
+        if (pattern != null && literal == null && !pattern.matcher(line).find()) {
+            return true;
+        }
+
+        out.println(timeFormat.format(new Date(timestamp)) + " | " + line);
+        matches++;
+        return limit <= 0 || matches < limit;
+    }
+
+    private boolean matchesAt(ByteBuffer buffer, int position) {
+        for (int j = 1; j < literal.length; j++) {
+            if (buffer.get(position + j) != literal[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 查找偏移所属的索引项（最后一个起始偏移不大于 offset 的项）
+     */
+    private static int entryFor(long[] offsets, long offset) {
+        int low = 0;
+        int high = offsets.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 查找最后一个时间戳不晚于 time 的索引项
+     *
+     * @return 索引项下标，全部晚于 time 时返回 -1
+     */
+    private static int lastAtOrBefore(long[] timestamps, long time) {
+        int low = 0;
+        int high = timestamps.length - 1;
+        int result = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] <= time) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isLiteral(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (char c : value.toCharArray()) {
+            if (REGEX_META_CHARACTERS.indexOf(c) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 解析时间参数
+     *
+     * @param value 时间字符串
+     * @return 毫秒时间戳
+     */
+    static long parseTime(String value) {
+        String trimmed = value.trim();
+        if (trimmed.matches("\\d+[smhd]")) {
+            long amount = Long.parseLong(trimmed.substring(0, trimmed.length() - 1));
+            char unit = trimmed.charAt(trimmed.length() - 1);
+            long unitMillis = unit == 's' ? 1000L : unit == 'm' ? 60000L : unit == 'h' ? 3600000L : 86400000L;
+            return System.currentTimeMillis() - amount * unitMillis;
+        }
+        if (trimmed.matches("\\d{10,}")) {
+            return Long.parseLong(trimmed);
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        if (trimmed.matches("\\d{1,2}:\\d{2}(:\\d{2})?")) {
+            return LocalDate.now().atTime(LocalTime.parse(trimmed.length() == 4 ? "0" + trimmed : trimmed))
+                    .atZone(zone).toInstant().toEpochMilli();
+        }
+        if (trimmed.matches("\\d{4}-\\d{2}-\\d{2}")) {
+            return LocalDate.parse(trimmed).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+
+        String normalized = trimmed.replace(' ', 'T');
+        if (normalized.matches(".*T\\d{1,2}:\\d{2}$")) {
+            normalized += ":00";
+        }
+        return LocalDateTime.parse(normalized).atZone(zone).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,191 @@
+package top.zeronight.forgerlauncher.log;
+
+import top.zeronight.forgerlauncher.config.LauncherConfig;
+import top.zeronight.forgerlauncher.util.ConsoleUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 控制台日志写入器，将转发的子进程输出写入分段文件
+ * 每隔 console.log.indexIntervalMillis 毫秒或 console.log.indexIntervalKb 写入一条稀疏索引，
+ * 分段达到 console.log.segmentSizeMb 后滚动，总大小超过 console.log.maxTotalMb 时删除最旧的分段
+ */
+public class ConsoleLogWriter {
+
+    private static final long META_INTERVAL_MILLIS = 10000;
+    private static final long MAX_SEGMENT_MB = 2047;
+
+    private final File dir;
+    private final long segmentBytes;
+    private final long maxTotalBytes;
+    private final long indexIntervalMillis;
+    private final long indexIntervalBytes;
+
+    private LogSegment segment;
+    private OutputStream logOutput;
+    private DataOutputStream indexOutput;
+    private long offset;
+    private long lastIndexTimestamp;
+    private long lastIndexOffset;
+    private long lastMetaTimestamp;
+    private boolean closed;
+
+    private ConsoleLogWriter(LauncherConfig config, File dir) {
+        this.dir = dir;
+        // 搜索时整段内存映射，单个映射不能超过 2GB
+        this.segmentBytes = Math.min(MAX_SEGMENT_MB, Math.max(1, config.getLong("console.log.segmentSizeMb", 64))) * 1024 * 1024;
+        this.maxTotalBytes = config.getLong("console.log.maxTotalMb", 4096) * 1024 * 1024;
+        this.indexIntervalMillis = Math.max(1, config.getLong("console.log.indexIntervalMillis", 1000));
+        this.indexIntervalBytes = Math.max(1, config.getLong("console.log.indexIntervalKb", 64)) * 1024;
+    }
+
+    /**
+     * 按配置打开写入器
+     *
+     * @param config  启动器配置
+     * @param workDir 服务器工作目录
+     * @return 写入器，未启用或无法创建目录时返回 null
+     */
+    public static ConsoleLogWriter open(LauncherConfig config, File workDir) {
+        if (!config.getBoolean("console.log.enabled", true)) {
+            return null;
+        }
+
+        File dir = getLogDirectory(config, workDir);
+        if (!dir.exists() && !dir.mkdirs()) {
+            ConsoleUtils.logError("Failed to create console log directory: " + dir.getAbsolutePath());
+            return null;
+        }
+
+        ConsoleLogWriter writer = new ConsoleLogWriter(config, dir);
+        try {
+            List<LogSegment> existing = LogSegment.list(dir);
+            writer.startSegment(existing.isEmpty() ? 1 : existing.get(existing.size() - 1).getNumber() + 1);
+            // 每次启动都会开启新分段，服务器频繁重启时分段可能从未写满滚动，启动时也清理一次
+            writer.enforceRetention();
+        } catch (IOException e) {
+            ConsoleUtils.logError("Failed to open console log segment: " + e.getMessage());
+            return null;
+        }
+        ConsoleUtils.logDebug("Writing indexed console log to " + dir.getAbsolutePath());
+        return writer;
+    }
+
+    /**
+     * 获取分段日志目录
+     *
+     * @param config  启动器配置
+     * @param workDir 服务器工作目录
+     * @return 日志目录
+     */
+    public static File getLogDirectory(LauncherConfig config, File workDir) {
+        return new File(workDir, config.getString("console.log.dir", "logs/console"));
+    }
+
+    /**
+     * 追加一行日志
+     *
+     * @param line 日志行（不含换行）
+     */
+    public synchronized void append(String line) {
+        if (closed) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+
+        try {
+            if (offset > 0 && offset + bytes.length + 1 > segmentBytes) {
+                rollSegment();
+            }
+
+            if (offset == 0 || now - lastIndexTimestamp >= indexIntervalMillis || offset - lastIndexOffset >= indexIntervalBytes) {
+                indexOutput.writeLong(now);
+                indexOutput.writeLong(offset);
+                lastIndexTimestamp = now;
+                lastIndexOffset = offset;
+                logOutput.flush();
+                indexOutput.flush();
+            }
+
+            logOutput.write(bytes);
+            logOutput.write('\n');
+            offset += bytes.length + 1;
+            segment.record(now, LogLevel.detect(line));
+
+            if (now - lastMetaTimestamp >= META_INTERVAL_MILLIS) {
+                lastMetaTimestamp = now;
+                segment.saveMeta();
+            }
+        } catch (IOException e) {
+            closed = true;
+            ConsoleUtils.logError("Console log disabled after write error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 刷新并关闭当前分段
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            closeSegment();
+        } catch (IOException e) {
+            ConsoleUtils.logError("Failed to close console log: " + e.getMessage());
+        }
+    }
+
+    private void startSegment(int number) throws IOException {
+        segment = new LogSegment(dir, number);
+        logOutput = new BufferedOutputStream(new FileOutputStream(segment.getLogFile()), 64 * 1024);
+        indexOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(segment.getIndexFile()), 4096));
+        offset = 0;
+        lastIndexOffset = 0;
+        lastIndexTimestamp = 0;
+    }
+
+    private void closeSegment() throws IOException {
+        logOutput.close();
+        indexOutput.close();
+        segment.saveMeta();
+    }
+
+    private void rollSegment() throws IOException {
+        int next = segment.getNumber() + 1;
+        closeSegment();
+        startSegment(next);
+        enforceRetention();
+    }
+
+    /**
+     * 删除最旧的分段直到总大小不超过上限
+     */
+    private void enforceRetention() {
+        if (maxTotalBytes <= 0) {
+            return;
+        }
+        List<LogSegment> segments = LogSegment.list(dir);
+        long total = 0;
+        for (LogSegment existing : segments) {
+            total += existing.getSizeOnDisk();
+        }
+        for (LogSegment existing : segments) {
+            if (total <= maxTotalBytes || existing.getNumber() == segment.getNumber()) {
+                break;
+            }
+            total -= existing.getSizeOnDisk();
+            existing.delete();
+        }
+    }
+}
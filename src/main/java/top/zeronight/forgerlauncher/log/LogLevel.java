@@ -0,0 +1,64 @@
+package top.zeronight.forgerlauncher.log;
+
+/**
+ * 控制台日志级别，按严重程度递增排列
+ */
+public enum LogLevel {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    FATAL,
+    UNKNOWN;
+
+    /**
+     * 只在行首附近查找级别标记，避免扫描整行
+     */
+    private static final int SCAN_LIMIT = 256;
+
+    private static final LogLevel[] KNOWN = {TRACE, DEBUG, INFO, WARN, ERROR, FATAL};
+
+    /**
+     * 从 Forge/原版日志行中识别级别，格式如 "[时间] [Server thread/INFO] [logger]: 消息"
+     *
+     * @param line 日志行
+     * @return 日志级别，无法识别时返回 UNKNOWN
+     */
+    public static LogLevel detect(CharSequence line) {
+        int limit = Math.min(line.length(), SCAN_LIMIT);
+        for (int i = 0; i < limit; i++) {
+            if (line.charAt(i) != ']') {
+                continue;
+            }
+            for (LogLevel level : KNOWN) {
+                String name = level.name();
+                int start = i - name.length();
+                if (start > 0 && line.charAt(start - 1) == '/' && regionMatches(line, start, name)) {
+                    return level;
+                }
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * 解析级别名称
+     *
+     * @param name 级别名称（不区分大小写）
+     * @return 日志级别
+     * @throws IllegalArgumentException 名称无效时抛出
+     */
+    public static LogLevel parse(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+
+    private static boolean regionMatches(CharSequence line, int start, String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (line.charAt(start + i) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
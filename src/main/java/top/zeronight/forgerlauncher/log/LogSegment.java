@@ -0,0 +1,211 @@
+package top.zeronight.forgerlauncher.log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 控制台日志分段，由三个文件组成：
+ * <ul>
+ *     <li>segment-NNNNNN.log：原始日志行（UTF-8，每行以 \n 结尾）</li>
+ *     <li>segment-NNNNNN.idx：稀疏索引，每条记录为 (时间戳毫秒, 行起始偏移) 两个 long</li>
+ *     <li>segment-NNNNNN.meta：时间范围、行数和各级别计数</li>
+ * </ul>
+ */
+public class LogSegment {
+
+    /**
+     * 索引记录的字节数
+     */
+    public static final int INDEX_ENTRY_BYTES = 16;
+
+    private static final String PREFIX = "segment-";
+
+    private final int number;
+    private final File logFile;
+    private final File indexFile;
+    private final File metaFile;
+
+    private long firstTimestamp = Long.MAX_VALUE;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private long lineCount;
+    private final long[] levelCounts = new long[LogLevel.values().length];
+    private boolean metaLoaded;
+
+    public LogSegment(File dir, int number) {
+        String baseName = String.format("%s%06d", PREFIX, number);
+        this.number = number;
+        this.logFile = new File(dir, baseName + ".log");
+        this.indexFile = new File(dir, baseName + ".idx");
+        this.metaFile = new File(dir, baseName + ".meta");
+    }
+
+    /**
+     * 按编号顺序列出目录中的所有分段
+     *
+     * @param dir 日志目录
+     * @return 分段列表
+     */
+    public static List<LogSegment> list(File dir) {
+        List<Integer> numbers = new ArrayList<>();
+        File[] files = dir.listFiles((d, name) -> name.startsWith(PREFIX) && name.endsWith(".log"));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                try {
+                    numbers.add(Integer.parseInt(name.substring(PREFIX.length(), name.length() - 4)));
+                } catch (NumberFormatException e) {
+                    // 忽略无关文件
+                }
+            }
+        }
+        numbers.sort(Integer::compare);
+
+        List<LogSegment> segments = new ArrayList<>();
+        for (int number : numbers) {
+            segments.add(new LogSegment(dir, number));
+        }
+        return segments;
+    }
+
+    /**
+     * 记录一行日志的时间和级别
+     *
+     * @param timestamp 时间戳
+     * @param level     日志级别
+     */
+    void record(long timestamp, LogLevel level) {
+        firstTimestamp = Math.min(firstTimestamp, timestamp);
+        lastTimestamp = Math.max(lastTimestamp, timestamp);
+        lineCount++;
+        levelCounts[level.ordinal()]++;
+    }
+
+    /**
+     * 读取元数据文件，缺失时元数据视为未知
+     *
+     * @return 是否成功读取
+     */
+    public boolean loadMeta() {
+        if (!metaFile.isFile()) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = new FileInputStream(metaFile)) {
+            properties.load(input);
+            firstTimestamp = Long.parseLong(properties.getProperty("firstTimestamp"));
+            lastTimestamp = Long.parseLong(properties.getProperty("lastTimestamp"));
+            lineCount = Long.parseLong(properties.getProperty("lines", "0"));
+            for (LogLevel level : LogLevel.values()) {
+                levelCounts[level.ordinal()] = Long.parseLong(properties.getProperty("count." + level.name(), "0"));
+            }
+            metaLoaded = true;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 写入元数据文件
+     */
+    void saveMeta() throws IOException {
+        if (lineCount == 0) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty("firstTimestamp", Long.toString(firstTimestamp));
+        properties.setProperty("lastTimestamp", Long.toString(lastTimestamp));
+        properties.setProperty("lines", Long.toString(lineCount));
+        for (LogLevel level : LogLevel.values()) {
+            properties.setProperty("count." + level.name(), Long.toString(levelCounts[level.ordinal()]));
+        }
+        try (OutputStream output = new FileOutputStream(metaFile)) {
+            properties.store(output, "Console log segment " + number);
+        }
+    }
+
+    /**
+     * 判断元数据是否反映了日志文件的全部内容
+     * 写入器只定期保存元数据，正在写入或启动器被强制结束时遗留的分段元数据可能落后于日志文件
+     *
+     * @return 元数据已读取且不早于日志文件时返回 true
+     */
+    public boolean isMetaCurrent() {
+        return metaLoaded && metaFile.lastModified() >= logFile.lastModified();
+    }
+
+    /**
+     * 判断分段是否可能包含不低于指定级别的日志
+     *
+     * @param minLevel 最低级别
+     * @return 元数据未知或存在对应级别的日志时返回 true
+     */
+    public boolean mayContain(LogLevel minLevel) {
+        if (!metaLoaded) {
+            return true;
+        }
+        for (LogLevel level : LogLevel.values()) {
+            if (level != LogLevel.UNKNOWN && level.ordinal() >= minLevel.ordinal() && levelCounts[level.ordinal()] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 删除该分段的所有文件
+     */
+    void delete() {
+        logFile.delete();
+        indexFile.delete();
+        metaFile.delete();
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public File getLogFile() {
+        return logFile;
+    }
+
+    public File getIndexFile() {
+        return indexFile;
+    }
+
+    public boolean isMetaLoaded() {
+        return metaLoaded;
+    }
+
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    public long getLevelCount(LogLevel level) {
+        return levelCounts[level.ordinal()];
+    }
+
+    /**
+     * 分段占用的磁盘空间
+     *
+     * @return 字节数
+     */
+    public long getSizeOnDisk() {
+        return logFile.length() + indexFile.length() + metaFile.length();
+    }
+}
@@ -0,0 +1,59 @@
+package top.zeronight.forgerlauncher.mods;
+
+/**
+ * 模组依赖声明数据类，对应 mods.toml 中的 [[dependencies.&lt;modId&gt;]] 条目
+ */
+public class ModDependency {
+
+    /**
+     * 依赖类型，Forge 使用 mandatory=true/false，NeoForge 使用 type="required" 等
+     */
+    public enum Type {
+        REQUIRED,
+        OPTIONAL,
+        INCOMPATIBLE,
+        DISCOURAGED
+    }
+
+    private final String modId;
+    private final Type type;
+    private final String versionRange;
+    private final String side;
+
+    public ModDependency(String modId, Type type, String versionRange, String side) {
+        this.modId = modId;
+        this.type = type;
+        this.versionRange = versionRange;
+        this.side = side;
+    }
+
+    public String getModId() {
+        return modId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getVersionRange() {
+        return versionRange;
+    }
+
+    public String getSide() {
+        return side;
+    }
+
+    /**
+     * 判断该依赖是否作用于服务端
+     *
+     * @return side 为 BOTH 或 SERVER 时返回 true
+     */
+    public boolean appliesToServer() {
+        return !"CLIENT".equalsIgnoreCase(side);
+    }
+
+    @Override
+    public String toString() {
+        return modId + " " + versionRange + " (" + type + ", " + side + ")";
+    }
+}
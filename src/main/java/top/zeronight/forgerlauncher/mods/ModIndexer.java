@@ -0,0 +1,232 @@
+package top.zeronight.forgerlauncher.mods;
+
+import top.zeronight.forgerlauncher.util.ConsoleUtils;
+import top.zeronight.forgerlauncher.version.VersionInfo;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+
+/**
+ * 模组索引器，并行读取 mods 目录中所有 jar 的模组元数据
+ * 通过 jar 中央目录直接定位 mods.toml / neoforge.mods.toml，不解压任何文件
+ * 结果按 jar 大小和修改时间缓存到 .launcher/mods-index-&lt;type&gt;.cache
+ */
+public class ModIndexer {
+
+    private static final String NEOFORGE_METADATA = "META-INF/neoforge.mods.toml";
+    private static final String FORGE_METADATA = "META-INF/mods.toml";
+    private static final String JARJAR_DIR = "META-INF/jarjar/";
+    private static final String CACHE_DIR = ".launcher";
+
+    private final ModsTomlParser parser = new ModsTomlParser();
+    private final List<String> metadataFiles;
+    private final File cacheFile;
+
+    public ModIndexer(VersionInfo.ServerType serverType) {
+        // Forge 只读取 mods.toml；NeoForge 1.20.5 起使用 neoforge.mods.toml，更早的版本仍使用 mods.toml
+        this.metadataFiles = serverType == VersionInfo.ServerType.NEOFORGE
+                ? Arrays.asList(NEOFORGE_METADATA, FORGE_METADATA)
+                : Collections.singletonList(FORGE_METADATA);
+        this.cacheFile = new File(CACHE_DIR, "mods-index-" + serverType.name().toLowerCase() + ".cache");
+    }
+
+    /**
+     * 为 mods 目录建立模组索引
+     *
+     * @param modsDir mods 目录
+     * @return 所有 jar（含内嵌 jar）声明的模组
+     */
+    public List<ModInfo> buildIndex(File modsDir) {
+        long startedAt = System.nanoTime();
+
+        File[] jars = modsDir.listFiles((dir, name) -> name.toLowerCase().endsWith(".jar"));
+        if (jars == null || jars.length == 0) {
+            return new ArrayList<>();
+        }
+
+        Map<String, CacheEntry> cache = loadCache();
+        Map<String, CacheEntry> updatedCache = new ConcurrentHashMap<>();
+        AtomicInteger cacheHits = new AtomicInteger();
+
+        List<ModInfo> mods = Arrays.stream(jars).parallel()
+                .flatMap(jar -> {
+                    CacheEntry cached = cache.get(jar.getName());
+                    if (cached != null && cached.size == jar.length() && cached.lastModified == jar.lastModified()) {
+                        cacheHits.incrementAndGet();
+                        updatedCache.put(jar.getName(), cached);
+                        return cached.mods.stream();
+                    }
+                    List<ModInfo> jarMods = indexJar(jar);
+                    updatedCache.put(jar.getName(), new CacheEntry(jar.length(), jar.lastModified(), jarMods));
+                    return jarMods.stream();
+                })
+                .collect(Collectors.toList());
+
+        if (cacheHits.get() != jars.length || cache.size() != updatedCache.size()) {
+            saveCache(updatedCache);
+        }
+
+        ConsoleUtils.logInfo(String.format("Indexed %d mods from %d jars in %.1fms (%d cached)",
+                mods.size(), jars.length, (System.nanoTime() - startedAt) / 1e6, cacheHits.get()));
+        return mods;
+    }
+
+    /**
+     * 读取单个 jar 及其 META-INF/jarjar 内嵌 jar 中的模组元数据
+     *
+     * @param jar jar 文件
+     * @return 声明的模组，无法读取时返回空列表
+     */
+    private List<ModInfo> indexJar(File jar) {
+        List<ModInfo> mods = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar, false)) {
+            String jarVersion = implementationVersion(jarFile.getManifest());
+
+            for (String metadataFile : metadataFiles) {
+                JarEntry entry = jarFile.getJarEntry(metadataFile);
+                if (entry != null) {
+                    try (InputStreamReader reader = new InputStreamReader(jarFile.getInputStream(entry), StandardCharsets.UTF_8)) {
+                        mods.addAll(parser.parse(reader, jar.getName(), false, jarVersion));
+                    }
+                    break;
+                }
+            }
+
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (entry.getName().startsWith(JARJAR_DIR) && entry.getName().endsWith(".jar")) {
+                    mods.addAll(indexNestedJar(jarFile, entry, jar.getName()));
+                }
+            }
+        } catch (IOException e) {
+            ConsoleUtils.logWarn("Failed to read mod jar " + jar.getName() + ": " + e.getMessage());
+        }
+        return mods;
+    }
+
+    /**
+     * 以流的方式读取内嵌 jar 中的模组元数据
+     *
+     * @param outer   外层 jar
+     * @param entry   内嵌 jar 条目
+     * @param jarName 外层 jar 文件名
+     * @return 内嵌 jar 声明的模组
+     */
+    private List<ModInfo> indexNestedJar(JarFile outer, JarEntry entry, String jarName) throws IOException {
+        try (JarInputStream nested = new JarInputStream(outer.getInputStream(entry), false)) {
+            String jarVersion = implementationVersion(nested.getManifest());
+            JarEntry nestedEntry;
+            while ((nestedEntry = nested.getNextJarEntry()) != null) {
+                if (metadataFiles.contains(nestedEntry.getName())) {
+                    InputStreamReader reader = new InputStreamReader(nested, StandardCharsets.UTF_8);
+                    return parser.parse(reader, jarName, true, jarVersion);
+                }
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    private String implementationVersion(Manifest manifest) {
+        return manifest == null ? null : manifest.getMainAttributes().getValue(Attributes.Name.IMPLEMENTATION_VERSION);
+    }
+
+    /**
+     * 读取缓存，格式为每行一条以制表符分隔的记录：
+     * J 文件名 大小 修改时间 / M 模组ID 版本 是否内嵌 / D 依赖ID 类型 版本范围 端
+     *
+     * @return jar 文件名到缓存条目的映射
+     */
+    private Map<String, CacheEntry> loadCache() {
+        Map<String, CacheEntry> cache = new HashMap<>();
+        if (!cacheFile.isFile()) {
+            return cache;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(cacheFile), StandardCharsets.UTF_8))) {
+            String jarName = null;
+            CacheEntry current = null;
+            List<ModDependency> dependencies = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                if ("J".equals(fields[0]) && fields.length == 4) {
+                    jarName = fields[1];
+                    current = new CacheEntry(Long.parseLong(fields[2]), Long.parseLong(fields[3]), new ArrayList<>());
+                    cache.put(jarName, current);
+                } else if ("M".equals(fields[0]) && fields.length == 4 && current != null) {
+                    dependencies = new ArrayList<>();
+                    current.mods.add(new ModInfo(fields[1], fields[2], jarName, "1".equals(fields[3]), dependencies));
+                } else if ("D".equals(fields[0]) && fields.length == 5 && dependencies != null) {
+                    dependencies.add(new ModDependency(fields[1], ModDependency.Type.valueOf(fields[2]), fields[3], fields[4]));
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            ConsoleUtils.logWarn("Ignoring unreadable mod index cache: " + e.getMessage());
+            cache.clear();
+        }
+        return cache;
+    }
+
+    private void saveCache(Map<String, CacheEntry> cache) {
+        File parent = cacheFile.getAbsoluteFile().getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            return;
+        }
+
+        try (PrintWriter writer = new PrintWriter(cacheFile, StandardCharsets.UTF_8.name())) {
+            for (Map.Entry<String, CacheEntry> entry : cache.entrySet()) {
+                CacheEntry cached = entry.getValue();
+                writer.println("J\t" + clean(entry.getKey()) + "\t" + cached.size + "\t" + cached.lastModified);
+                for (ModInfo mod : cached.mods) {
+                    writer.println("M\t" + clean(mod.getModId()) + "\t" + clean(mod.getVersion()) + "\t" + (mod.isNested() ? "1" : "0"));
+                    for (ModDependency dependency : mod.getDependencies()) {
+                        writer.println("D\t" + clean(dependency.getModId()) + "\t" + dependency.getType() + "\t"
+                                + clean(dependency.getVersionRange()) + "\t" + clean(dependency.getSide()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            ConsoleUtils.logWarn("Failed to write mod index cache: " + e.getMessage());
+        }
+    }
+
+    private static String clean(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    /**
+     * 单个 jar 的缓存条目
+     */
+    private static class CacheEntry {
+        final long size;
+        final long lastModified;
+        final List<ModInfo> mods;
+
+        CacheEntry(long size, long lastModified, List<ModInfo> mods) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.mods = mods;
+        }
+    }
+}
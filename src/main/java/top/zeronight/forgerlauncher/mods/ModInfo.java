@@ -0,0 +1,63 @@
+package top.zeronight.forgerlauncher.mods;
+
+import java.util.List;
+
+/**
+ * 模组信息数据类，描述 mods 目录中某个 jar 声明的一个模组
+ */
+public class ModInfo {
+
+    private final String modId;
+    private final String version;
+    private final String jarName;
+    private final boolean nested;
+    private final List<ModDependency> dependencies;
+
+    public ModInfo(String modId, String version, String jarName, boolean nested, List<ModDependency> dependencies) {
+        this.modId = modId;
+        this.version = version;
+        this.jarName = jarName;
+        this.nested = nested;
+        this.dependencies = dependencies;
+    }
+
+    public String getModId() {
+        return modId;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * 获取声明该模组的 jar 文件名，内嵌模组为外层 jar 的文件名
+     *
+     * @return jar 文件名
+     */
+    public String getJarName() {
+        return jarName;
+    }
+
+    /**
+     * 是否来自 META-INF/jarjar 中的内嵌 jar
+     *
+     * @return 是否为内嵌模组
+     */
+    public boolean isNested() {
+        return nested;
+    }
+
+    public List<ModDependency> getDependencies() {
+        return dependencies;
+    }
+
+    @Override
+    public String toString() {
+        return "ModInfo{" +
+                "modId='" + modId + '\'' +
+                ", version='" + version + '\'' +
+                ", jar='" + jarName + '\'' +
+                (nested ? ", nested" : "") +
+                '}';
+    }
+}
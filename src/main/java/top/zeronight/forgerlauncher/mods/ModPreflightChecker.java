@@ -0,0 +1,116 @@
+package top.zeronight.forgerlauncher.mods;
+
+import top.zeronight.forgerlauncher.config.LauncherConfig;
+import top.zeronight.forgerlauncher.util.ConsoleUtils;
+import top.zeronight.forgerlauncher.version.VersionInfo;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 模组启动前检查器，在启动服务器之前发现重复模组、缺失的必需依赖以及不兼容的模组
+ */
+public class ModPreflightChecker {
+
+    /**
+     * 由加载器或游戏本身提供的模组 ID
+     */
+    private static final Set<String> PLATFORM_MOD_IDS = new HashSet<>(Arrays.asList(
+            "minecraft", "forge", "neoforge", "fml", "javafml", "lowcodefml", "mcp"
+    ));
+
+    private final LauncherConfig config;
+    private final VersionInfo.ServerType serverType;
+
+    public ModPreflightChecker(LauncherConfig config, VersionInfo.ServerType serverType) {
+        this.config = config;
+        this.serverType = serverType;
+    }
+
+    /**
+     * 索引 mods 目录并执行检查
+     *
+     * @param modsDir mods 目录
+     * @return 检查通过或配置为只警告时返回 true，需要中止启动时返回 false
+     */
+    public boolean run(File modsDir) {
+        if (!config.getBoolean("mods.preflight.enabled", true) || !modsDir.isDirectory()) {
+            return true;
+        }
+
+        List<ModInfo> mods = new ModIndexer(serverType).buildIndex(modsDir);
+        List<String> problems = check(mods);
+        if (problems.isEmpty()) {
+            return true;
+        }
+
+        for (String problem : problems) {
+            ConsoleUtils.logError(problem);
+        }
+
+        if (!config.getBoolean("mods.preflight.failOnError", true)) {
+            ConsoleUtils.logWarn("Mod preflight found " + problems.size() + " problem(s), continuing anyway.");
+            return true;
+        }
+        ConsoleUtils.logError("Mod preflight found " + problems.size()
+                + " problem(s). Fix them or set mods.preflight.failOnError=false in launcher.properties.");
+        return false;
+    }
+
+    /**
+     * 检查模组索引
+     *
+     * @param mods 模组索引
+     * @return 问题描述列表，为空表示通过
+     */
+    public List<String> check(List<ModInfo> mods) {
+        List<String> problems = new ArrayList<>();
+
+        // 顶层 jar 之间的重复模组会导致 FML 拒绝启动；内嵌 jar 由 FML 选择最高版本，不视为重复
+        Map<String, List<ModInfo>> topLevel = new LinkedHashMap<>();
+        Set<String> provided = new HashSet<>(PLATFORM_MOD_IDS);
+        for (ModInfo mod : mods) {
+            provided.add(mod.getModId());
+            if (!mod.isNested()) {
+                topLevel.computeIfAbsent(mod.getModId(), k -> new ArrayList<>()).add(mod);
+            }
+        }
+
+        for (Map.Entry<String, List<ModInfo>> entry : topLevel.entrySet()) {
+            List<ModInfo> duplicates = entry.getValue();
+            if (duplicates.size() > 1) {
+                StringBuilder message = new StringBuilder("Duplicate mod '" + entry.getKey() + "' in:");
+                for (ModInfo mod : duplicates) {
+                    message.append(" ").append(mod.getJarName()).append(" (").append(mod.getVersion()).append(")");
+                }
+                problems.add(message.toString());
+            }
+        }
+
+        for (List<ModInfo> declared : topLevel.values()) {
+            ModInfo mod = declared.get(0);
+            for (ModDependency dependency : mod.getDependencies()) {
+                if (!dependency.appliesToServer()) {
+                    continue;
+                }
+                boolean present = provided.contains(dependency.getModId());
+                if (dependency.getType() == ModDependency.Type.REQUIRED && !present) {
+                    problems.add("Mod '" + mod.getModId() + "' (" + mod.getJarName() + ") requires missing mod '"
+                            + dependency.getModId() + "' " + dependency.getVersionRange());
+                } else if (dependency.getType() == ModDependency.Type.INCOMPATIBLE && present
+                        && !PLATFORM_MOD_IDS.contains(dependency.getModId())) {
+                    problems.add("Mod '" + mod.getModId() + "' (" + mod.getJarName() + ") is incompatible with installed mod '"
+                            + dependency.getModId() + "'");
+                }
+            }
+        }
+
+        return problems;
+    }
+}
@@ -0,0 +1,194 @@
+package top.zeronight.forgerlauncher.mods;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * mods.toml / neoforge.mods.toml 解析器
+ * 只解析 [[mods]] 和 [[dependencies.&lt;modId&gt;]] 表中的单行键值，多行字符串和数组会被跳过
+ */
+public class ModsTomlParser {
+
+    private static final String JAR_VERSION_PLACEHOLDER = "${file.jarVersion}";
+
+    /**
+     * 解析模组元数据
+     *
+     * @param source     toml 内容
+     * @param jarName    jar 文件名
+     * @param nested     是否为内嵌 jar
+     * @param jarVersion jar 清单中的 Implementation-Version，用于替换 ${file.jarVersion}（可为 null）
+     * @return 声明的模组列表
+     * @throws IOException 读取失败时抛出
+     */
+    public List<ModInfo> parse(Reader source, String jarName, boolean nested, String jarVersion) throws IOException {
+        List<Map<String, String>> modTables = new ArrayList<>();
+        Map<String, List<Map<String, String>>> dependencyTables = new HashMap<>();
+        Map<String, String> currentTable = null;
+
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            if (line.startsWith("[[")) {
+                String tableName = unquoteKey(line.substring(2, line.indexOf("]]") > 0 ? line.indexOf("]]") : line.length()));
+                currentTable = new LinkedHashMap<>();
+                if ("mods".equals(tableName)) {
+                    modTables.add(currentTable);
+                } else if (tableName.startsWith("dependencies.")) {
+                    String owner = unquoteKey(tableName.substring("dependencies.".length()));
+                    dependencyTables.computeIfAbsent(owner, k -> new ArrayList<>()).add(currentTable);
+                } else {
+                    currentTable = null;
+                }
+                continue;
+            }
+
+            if (line.startsWith("[")) {
+                // [modproperties.x] 等普通表，不关心其中的键
+                currentTable = null;
+                continue;
+            }
+
+            int separator = line.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+
+            String key = unquoteKey(line.substring(0, separator));
+            String rawValue = line.substring(separator + 1).trim();
+            String value = parseValue(rawValue, reader);
+            if (currentTable != null && value != null) {
+                currentTable.put(key, value);
+            }
+        }
+
+        List<ModInfo> mods = new ArrayList<>();
+        for (Map<String, String> table : modTables) {
+            String modId = table.get("modId");
+            if (modId == null || modId.isEmpty()) {
+                continue;
+            }
+
+            String version = table.getOrDefault("version", "unknown");
+            if (JAR_VERSION_PLACEHOLDER.equals(version)) {
+                version = jarVersion != null ? jarVersion : "unknown";
+            }
+
+            List<ModDependency> dependencies = new ArrayList<>();
+            for (Map<String, String> dependency : dependencyTables.getOrDefault(modId, new ArrayList<>())) {
+                String dependencyId = dependency.get("modId");
+                if (dependencyId == null) {
+                    continue;
+                }
+                dependencies.add(new ModDependency(
+                        dependencyId,
+                        parseDependencyType(dependency),
+                        dependency.getOrDefault("versionRange", "*"),
+                        dependency.getOrDefault("side", "BOTH")
+                ));
+            }
+
+            mods.add(new ModInfo(modId, version, jarName, nested, dependencies));
+        }
+        return mods;
+    }
+
+    /**
+     * 解析依赖类型，优先使用 NeoForge 的 type 字段，其次为 Forge 的 mandatory 字段
+     *
+     * @param dependency 依赖表
+     * @return 依赖类型
+     */
+    private ModDependency.Type parseDependencyType(Map<String, String> dependency) {
+        String type = dependency.get("type");
+        if (type != null) {
+            try {
+                return ModDependency.Type.valueOf(type.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ModDependency.Type.OPTIONAL;
+            }
+        }
+        return "true".equalsIgnoreCase(dependency.get("mandatory")) ? ModDependency.Type.REQUIRED : ModDependency.Type.OPTIONAL;
+    }
+
+    /**
+     * 解析键值对中的值，跳过多行字符串和数组
+     *
+     * @param rawValue 等号后的原始内容
+     * @param reader   用于读取多行值的后续行
+     * @return 单行字符串/布尔/数字值，多行字符串和数组返回 null
+     */
+    private String parseValue(String rawValue, BufferedReader reader) throws IOException {
+        if (rawValue.startsWith("\"\"\"") || rawValue.startsWith("'''")) {
+            String delimiter = rawValue.substring(0, 3);
+            String rest = rawValue.substring(3);
+            while (!rest.contains(delimiter)) {
+                rest = reader.readLine();
+                if (rest == null) {
+                    break;
+                }
+            }
+            return null;
+        }
+
+        if (rawValue.startsWith("\"") || rawValue.startsWith("'")) {
+            char quote = rawValue.charAt(0);
+            StringBuilder value = new StringBuilder();
+            for (int i = 1; i < rawValue.length(); i++) {
+                char c = rawValue.charAt(i);
+                if (c == '\\' && quote == '"' && i + 1 < rawValue.length()) {
+                    value.append(rawValue.charAt(++i));
+                } else if (c == quote) {
+                    break;
+                } else {
+                    value.append(c);
+                }
+            }
+            return value.toString();
+        }
+
+        if (rawValue.startsWith("[") || rawValue.startsWith("{")) {
+            int depth = 0;
+            String current = rawValue;
+            while (current != null) {
+                for (char c : current.toCharArray()) {
+                    if (c == '[' || c == '{') {
+                        depth++;
+                    } else if (c == ']' || c == '}') {
+                        depth--;
+                    }
+                }
+                if (depth <= 0) {
+                    break;
+                }
+                current = reader.readLine();
+            }
+            return null;
+        }
+
+        int comment = rawValue.indexOf('#');
+        return (comment >= 0 ? rawValue.substring(0, comment) : rawValue).trim();
+    }
+
+    private String unquoteKey(String key) {
+        String trimmed = key.trim();
+        StringBuilder result = new StringBuilder();
+        for (char c : trimmed.toCharArray()) {
+            if (c != '"' && c != '\'') {
+                result.append(c);
+            }
+        }
+        return result.toString().trim();
+    }
+}
@@ -0,0 +1,72 @@
+package top.zeronight.forgerlauncher.monitor;
+
+/**
+ * 内存采样数据类，记录某一时刻子进程的常驻内存情况（单位均为 kB）
+ */
+public class MemorySample {
+
+    private final long timestampMillis;
+    private final long rssKb;
+    private final long peakRssKb;
+    private final long anonKb;
+    private final long fileKb;
+    private final long swapKb;
+    private final long pssKb;
+    private final int threads;
+
+    public MemorySample(long timestampMillis, long rssKb, long peakRssKb, long anonKb, long fileKb,
+                        long swapKb, long pssKb, int threads) {
+        this.timestampMillis = timestampMillis;
+        this.rssKb = rssKb;
+        this.peakRssKb = peakRssKb;
+        this.anonKb = anonKb;
+        this.fileKb = fileKb;
+        this.swapKb = swapKb;
+        this.pssKb = pssKb;
+        this.threads = threads;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public long getRssKb() {
+        return rssKb;
+    }
+
+    public long getPeakRssKb() {
+        return peakRssKb;
+    }
+
+    public long getAnonKb() {
+        return anonKb;
+    }
+
+    public long getFileKb() {
+        return fileKb;
+    }
+
+    public long getSwapKb() {
+        return swapKb;
+    }
+
+    public long getPssKb() {
+        return pssKb;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public String toString() {
+        return "MemorySample{" +
+                "rss=" + (rssKb / 1024) + "MB" +
+                ", anon=" + (anonKb / 1024) + "MB" +
+                ", file=" + (fileKb / 1024) + "MB" +
+                ", swap=" + (swapKb / 1024) + "MB" +
+                ", pss=" + (pssKb / 1024) + "MB" +
+                ", threads=" + threads +
+                '}';
+    }
+}
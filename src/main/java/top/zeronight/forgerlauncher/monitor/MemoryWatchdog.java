@@ -0,0 +1,289 @@
+package top.zeronight.forgerlauncher.monitor;
+
+import top.zeronight.forgerlauncher.config.LauncherConfig;
+import top.zeronight.forgerlauncher.process.ProcessManager;
+import top.zeronight.forgerlauncher.util.ConsoleUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 内存看门狗，低频采样子进程的 RSS 并记录趋势
+ * 当 RSS 持续超过阈值或增长速率过快时，提示玩家、保存并平滑重启服务器，同时写入内存趋势摘要
+ */
+public class MemoryWatchdog {
+
+    private static final String KEY_PREFIX = "memory.watchdog.";
+
+    private final ProcessManager processManager;
+    private final File summaryDir;
+    private final long intervalMillis;
+    private final long warnRssMb;
+    private final long restartRssMb;
+    private final double restartGrowthMbPerHour;
+    private final long trendMinMinutes;
+    private final long warmupMillis;
+    private final int sustainSamples;
+    private final int restartWarningSeconds;
+    private final int historySize;
+
+    private final ArrayDeque<MemorySample> history = new ArrayDeque<>();
+    private volatile boolean running;
+    private Thread thread;
+    private long pid;
+    private long startedAt;
+    private boolean warned;
+    private int samplesOverLimit;
+
+    public MemoryWatchdog(LauncherConfig config, ProcessManager processManager, File workDir) {
+        this.processManager = processManager;
+        this.summaryDir = new File(workDir, config.getString(KEY_PREFIX + "summaryDir", "logs/launcher"));
+        this.intervalMillis = Math.max(1, config.getLong(KEY_PREFIX + "intervalSeconds", 30)) * 1000L;
+        this.warnRssMb = config.getLong(KEY_PREFIX + "rssWarnMb", 0);
+        this.restartRssMb = config.getLong(KEY_PREFIX + "rssRestartMb", 0);
+        this.restartGrowthMbPerHour = config.getDouble(KEY_PREFIX + "growthRestartMbPerHour", 0);
+        this.trendMinMinutes = config.getLong(KEY_PREFIX + "trendMinMinutes", 60);
+        this.warmupMillis = Math.max(0, config.getLong(KEY_PREFIX + "warmupMinutes", 10)) * 60000L;
+        this.sustainSamples = Math.max(1, config.getInt(KEY_PREFIX + "sustainSamples", 3));
+        this.restartWarningSeconds = Math.max(0, config.getInt(KEY_PREFIX + "restartWarningSeconds", 60));
+        this.historySize = Math.max(2, config.getInt(KEY_PREFIX + "historySize", 720));
+    }
+
+    /**
+     * 判断看门狗是否配置了任何阈值
+     *
+     * @return 是否需要启动
+     */
+    public boolean isEnabled() {
+        return warnRssMb > 0 || restartRssMb > 0 || restartGrowthMbPerHour > 0;
+    }
+
+    /**
+     * 开始监控指定进程
+     *
+     * @param pid 子进程号
+     */
+    public void start(long pid) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!ProcMemoryReader.isSupported()) {
+            ConsoleUtils.logWarn("Memory watchdog requires /proc, disabled on this platform.");
+            return;
+        }
+
+        this.pid = pid;
+        this.startedAt = System.currentTimeMillis();
+        this.history.clear();
+        this.warned = false;
+        this.samplesOverLimit = 0;
+        this.running = true;
+
+        thread = new Thread(this::run, "memory-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+
+        ConsoleUtils.logDebug("Memory watchdog started for PID " + pid + " (interval " + (intervalMillis / 1000)
+                + "s, warn " + warnRssMb + "MB, restart " + restartRssMb + "MB, growth " + restartGrowthMbPerHour + "MB/h after "
+                + warmupMillis / 60000L + "min warm-up)");
+    }
+
+    /**
+     * 停止监控
+     */
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            Optional<MemorySample> sampleOpt = ProcMemoryReader.read(pid);
+            if (!sampleOpt.isPresent()) {
+                // 进程已经退出
+                return;
+            }
+
+            String reason = record(sampleOpt.get());
+            if (reason != null) {
+                running = false;
+                ConsoleUtils.logWarn("Memory watchdog: " + reason);
+                writeSummary(reason);
+                processManager.restartServer(reason, restartWarningSeconds);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 记录一次采样并判断是否需要重启
+     *
+     * @param sample 采样
+     * @return 需要重启时返回原因，否则返回 null
+     */
+    private String record(MemorySample sample) {
+        history.addLast(sample);
+        while (history.size() > historySize) {
+            history.removeFirst();
+        }
+
+        long rssMb = sample.getRssKb() / 1024;
+
+        if (warnRssMb > 0) {
+            if (rssMb >= warnRssMb && !warned) {
+                warned = true;
+                ConsoleUtils.logWarn("Server RSS " + rssMb + "MB exceeded warning threshold " + warnRssMb + "MB (" + sample + ")");
+                processManager.sendCommand("say Server memory usage is high (" + rssMb + "MB), a restart may be needed soon.");
+            } else if (rssMb < warnRssMb) {
+                warned = false;
+            }
+        }
+
+        if (restartRssMb > 0) {
+            samplesOverLimit = rssMb >= restartRssMb ? samplesOverLimit + 1 : 0;
+            if (samplesOverLimit >= sustainSamples) {
+                return "RSS " + rssMb + "MB exceeded restart threshold " + restartRssMb + "MB for "
+                        + samplesOverLimit + " consecutive samples";
+            }
+        }
+
+        if (restartGrowthMbPerHour > 0 && spanMinutes() >= trendMinMinutes) {
+            double slope = growthMbPerHour();
+            if (slope >= restartGrowthMbPerHour) {
+                return String.format("RSS growing at %.1fMB/h over the last %d minutes (limit %.1fMB/h)",
+                        slope, spanMinutes(), restartGrowthMbPerHour);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 判断采样是否参与趋势计算，启动预热期内的加载和堆扩张不计入增长速率
+     *
+     * @param sample 采样
+     * @return 采样时间晚于预热期时返回 true
+     */
+    private boolean isTrendSample(MemorySample sample) {
+        return sample.getTimestampMillis() >= startedAt + warmupMillis;
+    }
+
+    /**
+     * 预热期之后的历史记录覆盖的时间跨度
+     *
+     * @return 分钟数
+     */
+    private long spanMinutes() {
+        MemorySample first = null;
+        for (MemorySample sample : history) {
+            if (isTrendSample(sample)) {
+                first = sample;
+                break;
+            }
+        }
+        if (first == null) {
+            return 0;
+        }
+        return (history.getLast().getTimestampMillis() - first.getTimestampMillis()) / 60000L;
+    }
+
+    /**
+     * 使用最小二乘法计算预热期之后 RSS 的增长速率
+     *
+     * @return 每小时增长的 MB 数
+     */
+    private double growthMbPerHour() {
+        long origin = startedAt + warmupMillis;
+        int n = 0;
+        double sumX = 0, sumY = 0, sumXY = 0, sumXX = 0;
+        for (MemorySample sample : history) {
+            if (!isTrendSample(sample)) {
+                continue;
+            }
+            n++;
+            double x = (sample.getTimestampMillis() - origin) / 3600000.0;
+            double y = sample.getRssKb() / 1024.0;
+            sumX += x;
+            sumY += y;
+            sumXY += x * y;
+            sumXX += x * x;
+        }
+
+        double denominator = n * sumXX - sumX * sumX;
+        if (n < 2 || denominator == 0) {
+            return 0;
+        }
+        return (n * sumXY - sumX * sumY) / denominator;
+    }
+
+    /**
+     * 将内存趋势摘要写入文件
+     *
+     * @param reason 重启原因
+     */
+    private void writeSummary(String reason) {
+        if (!summaryDir.exists() && !summaryDir.mkdirs()) {
+            ConsoleUtils.logError("Failed to create memory summary directory: " + summaryDir.getAbsolutePath());
+            return;
+        }
+
+        SimpleDateFormat fileFormat = new SimpleDateFormat("yyyyMMdd-HHmmss");
+        SimpleDateFormat lineFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        File summaryFile = new File(summaryDir, "memory-restart-" + fileFormat.format(new Date()) + ".txt");
+
+        List<MemorySample> samples = new ArrayList<>(history);
+        long minRss = Long.MAX_VALUE;
+        long maxRss = 0;
+        long peakHwm = 0;
+        for (MemorySample sample : samples) {
+            minRss = Math.min(minRss, sample.getRssKb());
+            maxRss = Math.max(maxRss, sample.getRssKb());
+            peakHwm = Math.max(peakHwm, sample.getPeakRssKb());
+        }
+
+        try (PrintWriter writer = new PrintWriter(summaryFile, StandardCharsets.UTF_8.name())) {
+            writer.println("Memory watchdog restart summary");
+            writer.println("Reason: " + reason);
+            writer.println("PID: " + pid);
+            writer.println("Started: " + lineFormat.format(new Date(startedAt)));
+            writer.println("Uptime: " + (System.currentTimeMillis() - startedAt) / 60000L + " min");
+            writer.println("Samples: " + samples.size() + " (interval " + (intervalMillis / 1000) + "s)");
+            if (!samples.isEmpty()) {
+                writer.println("RSS first/last: " + samples.get(0).getRssKb() / 1024 + "MB / "
+                        + samples.get(samples.size() - 1).getRssKb() / 1024 + "MB");
+                writer.println("RSS min/max: " + minRss / 1024 + "MB / " + maxRss / 1024 + "MB");
+                writer.println("RSS high-water mark: " + peakHwm / 1024 + "MB");
+            }
+            writer.println(String.format("Trend: %.1fMB/h", growthMbPerHour()));
+            writer.println("Thresholds: warn=" + warnRssMb + "MB, restart=" + restartRssMb + "MB, growth="
+                    + restartGrowthMbPerHour + "MB/h, warm-up=" + warmupMillis / 60000L + "min");
+            writer.println();
+            writer.println("time                 rss(MB)  anon(MB)  file(MB)  swap(MB)  pss(MB)  threads");
+            for (MemorySample sample : samples) {
+                writer.println(String.format("%-19s  %7d  %8d  %8d  %8d  %7d  %7d",
+                        lineFormat.format(new Date(sample.getTimestampMillis())),
+                        sample.getRssKb() / 1024, sample.getAnonKb() / 1024, sample.getFileKb() / 1024,
+                        sample.getSwapKb() / 1024, sample.getPssKb() / 1024, sample.getThreads()));
+            }
+            ConsoleUtils.logInfo("Memory trend summary written to " + summaryFile.getAbsolutePath());
+        } catch (IOException e) {
+            ConsoleUtils.logError("Failed to write memory summary: " + e.getMessage());
+        }
+    }
+}
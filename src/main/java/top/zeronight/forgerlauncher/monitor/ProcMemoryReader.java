@@ -0,0 +1,102 @@
+package top.zeronight.forgerlauncher.monitor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * 通过 /proc/&lt;pid&gt;/status 和 /proc/&lt;pid&gt;/smaps_rollup 读取进程内存使用情况
+ * 仅在 Linux 上可用
+ */
+public class ProcMemoryReader {
+
+    private static final File PROC_ROOT = new File("/proc");
+
+    /**
+     * 判断当前系统是否提供 /proc 文件系统
+     *
+     * @return 是否可用
+     */
+    public static boolean isSupported() {
+        return new File(PROC_ROOT, "self/status").exists();
+    }
+
+    /**
+     * 读取指定进程的内存采样
+     *
+     * @param pid 进程号
+     * @return 采样结果，进程不存在或读取失败时返回 empty
+     */
+    public static Optional<MemorySample> read(long pid) {
+        File procDir = new File(PROC_ROOT, Long.toString(pid));
+        File statusFile = new File(procDir, "status");
+
+        long rss = 0;
+        long peakRss = 0;
+        long anon = 0;
+        long file = 0;
+        long swap = 0;
+        int threads = 0;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(statusFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("VmRSS:")) {
+                    rss = parseKb(line);
+                } else if (line.startsWith("VmHWM:")) {
+                    peakRss = parseKb(line);
+                } else if (line.startsWith("RssAnon:")) {
+                    anon = parseKb(line);
+                } else if (line.startsWith("RssFile:")) {
+                    file = parseKb(line);
+                } else if (line.startsWith("VmSwap:")) {
+                    swap = parseKb(line);
+                } else if (line.startsWith("Threads:")) {
+                    threads = (int) parseKb(line);
+                }
+            }
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+
+        // smaps_rollup 需要 4.14+ 内核，缺失时 PSS 记为 RSS
+        long pss = rss;
+        File smapsRollup = new File(procDir, "smaps_rollup");
+        try (BufferedReader reader = new BufferedReader(new FileReader(smapsRollup))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("Pss:")) {
+                    pss = parseKb(line);
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // 忽略，保持回退值
+        }
+
+        return Optional.of(new MemorySample(System.currentTimeMillis(), rss, peakRss, anon, file, swap, pss, threads));
+    }
+
+    /**
+     * 解析形如 "VmRSS:    123456 kB" 的行中的数值
+     *
+     * @param line 行内容
+     * @return 数值，解析失败返回 0
+     */
+    private static long parseKb(String line) {
+        long value = 0;
+        boolean found = false;
+        for (int i = line.indexOf(':') + 1; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                found = true;
+            } else if (found) {
+                break;
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,389 @@
+package top.zeronight.forgerlauncher.monitor;
+
+import top.zeronight.forgerlauncher.config.LauncherConfig;
+import top.zeronight.forgerlauncher.util.ConsoleUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 线程 CPU 采样器，无需附加 agent 或 JFR
+ * 定期读取 /proc/&lt;pid&gt;/task/*&#47;stat 计算每个线程的 CPU 时间增量，周期性或按需输出最繁忙的线程
+ *
+ * <p>线程状态保存在按 tid 排序的预分配基本类型数组中，每轮采样与上一轮做归并后交换两组数组，
+ * 稳定运行时除目录列表外不产生额外分配
+ */
+public class ThreadCpuSampler {
+
+    private static final String KEY_PREFIX = "sampler.";
+
+    private final long intervalMillis;
+    private final long printIntervalMillis;
+    private final int topN;
+    private final double clockTicks;
+
+    private final byte[] readBuffer = new byte[1024];
+    private int[] topSlots;
+
+    // 当前一轮与上一轮的线程状态，按 tid 升序排列
+    private int count;
+    private int[] tids;
+    private long[] ticks;
+    private long[] windowTicks;
+    private String[] names;
+    private String[] statPaths;
+    private int previousCount;
+    private int[] previousTids;
+    private long[] previousTicks;
+    private long[] previousWindowTicks;
+    private String[] previousNames;
+    private String[] previousStatPaths;
+
+    private volatile boolean running;
+    private Thread thread;
+    private String taskDir;
+    private long windowStartedAt;
+    private boolean baseline;
+
+    public ThreadCpuSampler(LauncherConfig config) {
+        this.intervalMillis = Math.max(100, config.getLong(KEY_PREFIX + "intervalMillis", 1000));
+        this.printIntervalMillis = Math.max(0, config.getLong(KEY_PREFIX + "printIntervalSeconds", 60)) * 1000L;
+        this.topN = Math.max(1, config.getInt(KEY_PREFIX + "topN", 10));
+        this.clockTicks = Math.max(1, config.getInt(KEY_PREFIX + "clockTicks", 100));
+        this.topSlots = new int[topN];
+        allocate(Math.max(16, config.getInt(KEY_PREFIX + "capacity", 512)));
+    }
+
+    /**
+     * 判断是否启用采样器
+     *
+     * @param config 启动器配置
+     * @return 是否启用
+     */
+    public static boolean isEnabled(LauncherConfig config) {
+        return config.getBoolean(KEY_PREFIX + "enabled", false);
+    }
+
+    /**
+     * 获取按需输出的控制台触发命令
+     *
+     * @param config 启动器配置
+     * @return 触发命令
+     */
+    public static String getTrigger(LauncherConfig config) {
+        return config.getString(KEY_PREFIX + "trigger", "!threads");
+    }
+
+    /**
+     * 开始采样指定进程
+     *
+     * @param pid 子进程号
+     */
+    public void start(long pid) {
+        if (!ProcMemoryReader.isSupported()) {
+            ConsoleUtils.logWarn("Thread CPU sampler requires /proc, disabled on this platform.");
+            return;
+        }
+
+        synchronized (this) {
+            taskDir = "/proc/" + pid + "/task/";
+            count = 0;
+            previousCount = 0;
+            baseline = true;
+            windowStartedAt = System.nanoTime();
+        }
+        running = true;
+
+        thread = new Thread(this::run, "thread-cpu-sampler");
+        thread.setDaemon(true);
+        thread.start();
+        ConsoleUtils.logDebug("Thread CPU sampler started for PID " + pid + " (interval " + intervalMillis + "ms)");
+    }
+
+    /**
+     * 停止采样
+     */
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * 立即输出当前窗口内最繁忙的线程
+     */
+    public void dumpNow() {
+        if (!running) {
+            ConsoleUtils.logWarn("Thread CPU sampler is not running.");
+            return;
+        }
+        report(printIntervalMillis == 0);
+    }
+
+    private void run() {
+        long lastPrint = System.nanoTime();
+        while (running) {
+            if (!sample()) {
+                return;
+            }
+            if (printIntervalMillis > 0 && System.nanoTime() - lastPrint >= printIntervalMillis * 1000000L) {
+                lastPrint = System.nanoTime();
+                report(true);
+            }
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 执行一轮采样
+     *
+     * @return 进程仍然存在时返回 true
+     */
+    private synchronized boolean sample() {
+        String[] entries = new File(taskDir).list();
+        if (entries == null) {
+            return false;
+        }
+
+        // 交换两组数组，上一轮的结果成为 previous
+        swap();
+        if (entries.length > tids.length) {
+            grow(entries.length * 2);
+        }
+
+        int n = 0;
+        for (String entry : entries) {
+            int tid = parseInt(entry);
+            if (tid > 0) {
+                tids[n++] = tid;
+            }
+        }
+        Arrays.sort(tids, 0, n);
+
+        int written = 0;
+        int previous = 0;
+        for (int i = 0; i < n; i++) {
+            int tid = tids[i];
+            while (previous < previousCount && previousTids[previous] < tid) {
+                previous++;
+            }
+            boolean known = previous < previousCount && previousTids[previous] == tid;
+
+            String statPath = known ? previousStatPaths[previous] : taskDir + tid + "/stat";
+            long threadTicks = readTicks(statPath);
+            if (threadTicks < 0) {
+                // 线程在列目录之后退出
+                continue;
+            }
+
+            tids[written] = tid;
+            ticks[written] = threadTicks;
+            statPaths[written] = statPath;
+            if (known) {
+                names[written] = previousNames[previous];
+                windowTicks[written] = previousWindowTicks[previous] + (threadTicks - previousTicks[previous]);
+            } else {
+                names[written] = null;
+                // 首轮只建立基线；之后新出现的线程自创建起的 CPU 时间都计入当前窗口
+                windowTicks[written] = baseline ? 0 : threadTicks;
+            }
+            written++;
+        }
+
+        count = written;
+        baseline = false;
+        return true;
+    }
+
+    /**
+     * 输出 CPU 占用最高的线程
+     *
+     * @param resetWindow 输出后是否开始新的统计窗口
+     */
+    private synchronized void report(boolean resetWindow) {
+        double windowSeconds = (System.nanoTime() - windowStartedAt) / 1e9;
+        if (windowSeconds <= 0 || count == 0) {
+            return;
+        }
+
+        // 部分选择排序，只保留前 topN 个槽位
+        int selected = 0;
+        long totalTicks = 0;
+        for (int i = 0; i < count; i++) {
+            long value = windowTicks[i];
+            totalTicks += value;
+            if (value <= 0) {
+                continue;
+            }
+            int position = selected < topN ? selected++ : topN;
+            if (position == topN) {
+                if (value <= windowTicks[topSlots[topN - 1]]) {
+                    continue;
+                }
+                position = topN - 1;
+            }
+            while (position > 0 && windowTicks[topSlots[position - 1]] < value) {
+                topSlots[position] = topSlots[position - 1];
+                position--;
+            }
+            topSlots[position] = i;
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Top %d threads by CPU over the last %.1fs (%d threads, process %.1f%%):",
+                selected, windowSeconds, count, percent(totalTicks, windowSeconds)));
+        for (int i = 0; i < selected; i++) {
+            int slot = topSlots[i];
+            report.append(String.format("%n  %6.1f%%  %-8d %s", percent(windowTicks[slot], windowSeconds),
+                    tids[slot], threadName(slot)));
+        }
+        ConsoleUtils.logInfo(report.toString());
+
+        if (resetWindow) {
+            Arrays.fill(windowTicks, 0, count, 0);
+            windowStartedAt = System.nanoTime();
+        }
+    }
+
+    private double percent(long threadTicks, double seconds) {
+        return threadTicks / clockTicks / seconds * 100.0;
+    }
+
+    /**
+     * 读取线程名称，线程名可能在启动后被修改，因此只在输出时读取并缓存
+     *
+     * @param slot 数组槽位
+     * @return 线程名称
+     */
+    private String threadName(int slot) {
+        String comm = taskDir + tids[slot] + "/comm";
+        try (FileInputStream input = new FileInputStream(comm)) {
+            int length = input.read(readBuffer);
+            if (length > 0) {
+                while (length > 0 && (readBuffer[length - 1] == '\n' || readBuffer[length - 1] == 0)) {
+                    length--;
+                }
+                names[slot] = new String(readBuffer, 0, length, StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            // 线程已退出，保留上次读取的名称
+        }
+        return names[slot] != null ? names[slot] : "?";
+    }
+
+    /**
+     * 读取线程的 utime + stime
+     *
+     * @param statPath stat 文件路径
+     * @return CPU 时钟滴答数，读取失败返回 -1
+     */
+    private long readTicks(String statPath) {
+        int length;
+        try (FileInputStream input = new FileInputStream(statPath)) {
+            length = input.read(readBuffer);
+        } catch (IOException e) {
+            return -1;
+        }
+        if (length <= 0) {
+            return -1;
+        }
+
+        // comm 字段可能包含空格和括号，从最后一个 ')' 之后开始计数；utime/stime 为第 14、15 个字段
+        int position = length - 1;
+        while (position >= 0 && readBuffer[position] != ')') {
+            position--;
+        }
+        if (position < 0) {
+            return -1;
+        }
+
+        int field = 2;
+        long utime = 0;
+        long stime = 0;
+        for (int i = position + 1; i < length; i++) {
+            byte b = readBuffer[i];
+            if (b == ' ') {
+                field++;
+                if (field > 15) {
+                    break;
+                }
+            } else if (field == 14) {
+                utime = utime * 10 + (b - '0');
+            } else if (field == 15) {
+                stime = stime * 10 + (b - '0');
+            }
+        }
+        return utime + stime;
+    }
+
+    private void swap() {
+        int[] tidsSwap = previousTids;
+        previousTids = tids;
+        tids = tidsSwap;
+
+        long[] ticksSwap = previousTicks;
+        previousTicks = ticks;
+        ticks = ticksSwap;
+
+        long[] windowSwap = previousWindowTicks;
+        previousWindowTicks = windowTicks;
+        windowTicks = windowSwap;
+
+        String[] namesSwap = previousNames;
+        previousNames = names;
+        names = namesSwap;
+
+        String[] pathsSwap = previousStatPaths;
+        previousStatPaths = statPaths;
+        statPaths = pathsSwap;
+
+        previousCount = count;
+        count = 0;
+    }
+
+    private void allocate(int capacity) {
+        tids = new int[capacity];
+        ticks = new long[capacity];
+        windowTicks = new long[capacity];
+        names = new String[capacity];
+        statPaths = new String[capacity];
+        previousTids = new int[capacity];
+        previousTicks = new long[capacity];
+        previousWindowTicks = new long[capacity];
+        previousNames = new String[capacity];
+        previousStatPaths = new String[capacity];
+    }
+
+    /**
+     * 扩容当前一轮使用的数组，上一轮数组保持不变，下一次交换后再扩容
+     *
+     * @param capacity 新容量
+     */
+    private void grow(int capacity) {
+        tids = new int[capacity];
+        ticks = new long[capacity];
+        windowTicks = new long[capacity];
+        names = new String[capacity];
+        statPaths = new String[capacity];
+    }
+
+    private static int parseInt(String value) {
+        int result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
@@ -0,0 +1,223 @@
+package top.zeronight.forgerlauncher.platform;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * CPU 拓扑信息，从 /sys/devices/system/cpu 读取在线 CPU、物理核心（SMT 兄弟线程）和 NUMA 节点
+ * 仅包含当前进程允许使用的 CPU（/proc/self/status 中的 Cpus_allowed_list）
+ */
+public class CpuTopology {
+
+    private static final File CPU_ROOT = new File("/sys/devices/system/cpu");
+
+    private final List<List<Integer>> cores;
+    private final Map<Integer, Integer> nodeOfCpu;
+
+    private CpuTopology(List<List<Integer>> cores, Map<Integer, Integer> nodeOfCpu) {
+        this.cores = cores;
+        this.nodeOfCpu = nodeOfCpu;
+    }
+
+    /**
+     * 读取当前系统的 CPU 拓扑
+     *
+     * @return CPU 拓扑，无法读取时返回 null
+     */
+    public static CpuTopology read() {
+        List<Integer> online = parseCpuList(readFirstLine(new File(CPU_ROOT, "online")));
+        if (online.isEmpty()) {
+            return null;
+        }
+
+        List<Integer> allowed = parseCpuList(readStatusField("Cpus_allowed_list"));
+        if (!allowed.isEmpty()) {
+            online.retainAll(allowed);
+        }
+
+        // 以 (节点, 物理封装, 核心) 为键对逻辑 CPU 分组
+        Map<Integer, Integer> nodeOfCpu = readNodes();
+        TreeMap<Long, TreeSet<Integer>> coreGroups = new TreeMap<>();
+        for (int cpu : online) {
+            File topology = new File(CPU_ROOT, "cpu" + cpu + "/topology");
+            long packageId = Math.max(0, parseLong(readFirstLine(new File(topology, "physical_package_id")), 0));
+            long coreId = parseLong(readFirstLine(new File(topology, "core_id")), cpu);
+            long node = nodeOfCpu.getOrDefault(cpu, 0);
+            long key = (node << 40) | (packageId << 20) | coreId;
+            coreGroups.computeIfAbsent(key, k -> new TreeSet<>()).add(cpu);
+        }
+
+        List<List<Integer>> cores = new ArrayList<>();
+        for (TreeSet<Integer> siblings : coreGroups.values()) {
+            cores.add(new ArrayList<>(siblings));
+        }
+        return new CpuTopology(cores, nodeOfCpu);
+    }
+
+    /**
+     * 获取物理核心列表，按 NUMA 节点和核心编号排序，每个元素为该核心的 SMT 兄弟线程
+     *
+     * @return 物理核心列表
+     */
+    public List<List<Integer>> getCores() {
+        return cores;
+    }
+
+    /**
+     * 获取逻辑 CPU 所在的 NUMA 节点
+     *
+     * @param cpu 逻辑 CPU 编号
+     * @return NUMA 节点编号，未知时返回 0
+     */
+    public int getNode(int cpu) {
+        return nodeOfCpu.getOrDefault(cpu, 0);
+    }
+
+    /**
+     * 获取逻辑 CPU 总数
+     *
+     * @return 逻辑 CPU 数量
+     */
+    public int getCpuCount() {
+        int count = 0;
+        for (List<Integer> core : cores) {
+            count += core.size();
+        }
+        return count;
+    }
+
+    /**
+     * 获取 NUMA 节点数量
+     *
+     * @return 节点数量
+     */
+    public int getNodeCount() {
+        return Math.max(1, new TreeSet<>(nodeOfCpu.values()).size());
+    }
+
+    @Override
+    public String toString() {
+        return getCpuCount() + " CPUs, " + cores.size() + " cores, " + getNodeCount() + " NUMA node(s)";
+    }
+
+    /**
+     * 解析形如 "0-3,8,10-11" 的 CPU 列表
+     *
+     * @param list CPU 列表字符串（可为 null）
+     * @return CPU 编号列表
+     */
+    public static List<Integer> parseCpuList(String list) {
+        List<Integer> cpus = new ArrayList<>();
+        if (list == null) {
+            return cpus;
+        }
+        for (String range : list.trim().split(",")) {
+            range = range.trim();
+            if (range.isEmpty()) {
+                continue;
+            }
+            try {
+                int dash = range.indexOf('-');
+                if (dash > 0) {
+                    int start = Integer.parseInt(range.substring(0, dash).trim());
+                    int end = Integer.parseInt(range.substring(dash + 1).trim());
+                    for (int cpu = start; cpu <= end; cpu++) {
+                        cpus.add(cpu);
+                    }
+                } else {
+                    cpus.add(Integer.parseInt(range));
+                }
+            } catch (NumberFormatException e) {
+                // 忽略无法解析的片段
+            }
+        }
+        return cpus;
+    }
+
+    /**
+     * 将 CPU 编号列表格式化为 "0-3,8" 形式
+     *
+     * @param cpus CPU 编号列表
+     * @return 格式化后的字符串
+     */
+    public static String formatCpuList(List<Integer> cpus) {
+        List<Integer> sorted = new ArrayList<>(new TreeSet<>(cpus));
+        StringBuilder result = new StringBuilder();
+        int i = 0;
+        while (i < sorted.size()) {
+            int start = sorted.get(i);
+            int end = start;
+            while (i + 1 < sorted.size() && sorted.get(i + 1) == end + 1) {
+                end = sorted.get(++i);
+            }
+            if (result.length() > 0) {
+                result.append(',');
+            }
+            result.append(start);
+            if (end != start) {
+                result.append('-').append(end);
+            }
+            i++;
+        }
+        return result.toString();
+    }
+
+    private static Map<Integer, Integer> readNodes() {
+        Map<Integer, Integer> nodeOfCpu = new HashMap<>();
+        File[] nodes = new File("/sys/devices/system/node").listFiles((dir, name) -> name.matches("node\\d+"));
+        if (nodes == null) {
+            return nodeOfCpu;
+        }
+        for (File node : nodes) {
+            int nodeId = Integer.parseInt(node.getName().substring(4));
+            for (int cpu : parseCpuList(readFirstLine(new File(node, "cpulist")))) {
+                nodeOfCpu.put(cpu, nodeId);
+            }
+        }
+        return nodeOfCpu;
+    }
+
+    private static String readStatusField(String field) {
+        try (BufferedReader reader = new BufferedReader(new FileReader("/proc/self/status"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(field + ":")) {
+                    return line.substring(field.length() + 1).trim();
+                }
+            }
+        } catch (IOException e) {
+            // 非 Linux 系统
+        }
+        return null;
+    }
+
+    private static String readFirstLine(File file) {
+        try {
+            List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+            return lines.isEmpty() ? null : lines.get(0).trim();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static long parseLong(String value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
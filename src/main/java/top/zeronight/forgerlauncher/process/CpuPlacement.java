@@ -0,0 +1,214 @@
+package top.zeronight.forgerlauncher.process;
+
+import top.zeronight.forgerlauncher.config.LauncherConfig;
+import top.zeronight.forgerlauncher.platform.CpuTopology;
+import top.zeronight.forgerlauncher.platform.PlatformDetector;
+import top.zeronight.forgerlauncher.util.ConsoleUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * 子进程 CPU 放置策略，适用于同一主机运行多个服务器的场景
+ * 根据 CPU 拓扑为子进程分配 CPU 集合，并通过 taskset/numactl/nice/ionice/chrt 包装启动命令
+ */
+public class CpuPlacement {
+
+    private static final String KEY_PREFIX = "placement.";
+
+    private final LauncherConfig config;
+
+    public CpuPlacement(LauncherConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 按配置包装启动命令并打印放置计划
+     *
+     * @param command 原始启动命令（第一个元素为 java 可执行文件）
+     * @return 包装后的启动命令，未启用或不支持时返回原命令
+     */
+    public List<String> apply(List<String> command) {
+        if (!config.getBoolean(KEY_PREFIX + "enabled", false)) {
+            return command;
+        }
+        if (PlatformDetector.detect() != PlatformDetector.OperatingSystem.LINUX) {
+            ConsoleUtils.logWarn("CPU placement is only supported on Linux, skipped.");
+            return command;
+        }
+
+        CpuTopology topology = CpuTopology.read();
+        if (topology == null) {
+            ConsoleUtils.logWarn("Failed to read CPU topology from /sys/devices/system/cpu, CPU placement skipped.");
+            return command;
+        }
+
+        List<Integer> cpus = assignCpus(topology);
+        List<String> wrapper = new ArrayList<>();
+        List<String> plan = new ArrayList<>();
+        plan.add("Topology: " + topology);
+
+        // 调度策略（仅支持非实时的 batch/idle）
+        String policy = config.getString(KEY_PREFIX + "schedPolicy", null);
+        if (policy != null && !"other".equalsIgnoreCase(policy)) {
+            if (("batch".equalsIgnoreCase(policy) || "idle".equalsIgnoreCase(policy)) && requireTool("chrt")) {
+                wrapper.add("chrt");
+                wrapper.add("--" + policy.toLowerCase());
+                wrapper.add("0");
+                plan.add("Scheduling policy: SCHED_" + policy.toUpperCase());
+            } else if (!"batch".equalsIgnoreCase(policy) && !"idle".equalsIgnoreCase(policy)) {
+                ConsoleUtils.logWarn("Unsupported placement.schedPolicy '" + policy + "', expected other/batch/idle.");
+            }
+        }
+
+        String nice = config.getString(KEY_PREFIX + "nice", null);
+        if (nice != null && requireTool("nice")) {
+            wrapper.add("nice");
+            wrapper.add("-n");
+            wrapper.add(nice);
+            plan.add("Nice: " + nice);
+        }
+
+        String ioniceClass = config.getString(KEY_PREFIX + "ioniceClass", null);
+        if (ioniceClass != null && requireTool("ionice")) {
+            wrapper.add("ionice");
+            wrapper.add("-c");
+            wrapper.add(ioniceClass);
+            String ioniceLevel = config.getString(KEY_PREFIX + "ioniceLevel", null);
+            if (ioniceLevel != null) {
+                wrapper.add("-n");
+                wrapper.add(ioniceLevel);
+            }
+            plan.add("I/O class: " + ioniceClass + (ioniceLevel != null ? " level " + ioniceLevel : ""));
+        }
+
+        if (!cpus.isEmpty()) {
+            String cpuList = CpuTopology.formatCpuList(cpus);
+            TreeSet<Integer> nodes = new TreeSet<>();
+            for (int cpu : cpus) {
+                nodes.add(topology.getNode(cpu));
+            }
+
+            // preferred：优先在本节点分配内存，节点内存不足时回退到其他节点；bind：严格绑定，节点耗尽时分配失败或触发 OOM
+            String numaMemory = config.getString(KEY_PREFIX + "numaMemory", "preferred").toLowerCase();
+            if (!"preferred".equals(numaMemory) && !"bind".equals(numaMemory) && !"off".equals(numaMemory)) {
+                ConsoleUtils.logWarn("Unsupported placement.numaMemory '" + numaMemory + "', expected preferred/bind/off.");
+                numaMemory = "preferred";
+            }
+            boolean placeMemory = !"off".equals(numaMemory) && topology.getNodeCount() > 1 && nodes.size() == 1;
+            if (placeMemory && findTool("numactl") != null) {
+                boolean strict = "bind".equals(numaMemory);
+                wrapper.add("numactl");
+                wrapper.add("--physcpubind=" + cpuList);
+                wrapper.add((strict ? "--membind=" : "--preferred=") + nodes.first());
+                plan.add("CPUs: " + cpuList + " (" + cpus.size() + " logical, NUMA node " + nodes.first()
+                        + (strict ? ", memory strictly bound" : ", memory preferred") + ")");
+            } else if (requireTool("taskset")) {
+                wrapper.add("taskset");
+                wrapper.add("-c");
+                wrapper.add(cpuList);
+                plan.add("CPUs: " + cpuList + " (" + cpus.size() + " logical, NUMA node(s) " + nodes + ")");
+            }
+        }
+
+        List<String> wrapped = new ArrayList<>(wrapper);
+        wrapped.add(command.get(0));
+        if (!cpus.isEmpty() && config.getBoolean(KEY_PREFIX + "activeProcessorCount", true)
+                && !containsActiveProcessorCount(command)) {
+            wrapped.add("-XX:ActiveProcessorCount=" + cpus.size());
+            plan.add("JVM: -XX:ActiveProcessorCount=" + cpus.size());
+        }
+        wrapped.addAll(command.subList(1, command.size()));
+
+        ConsoleUtils.logInfo("CPU placement plan:");
+        for (String line : plan) {
+            ConsoleUtils.logInfo("  " + line);
+        }
+        if (!wrapper.isEmpty()) {
+            ConsoleUtils.logInfo("  Wrapper: " + String.join(" ", wrapper));
+        }
+        return wrapped;
+    }
+
+    /**
+     * 计算分配给本实例的 CPU 集合
+     * 优先使用 placement.cpus；否则按 placement.instanceIndex 将 placement.cpuCount 个逻辑 CPU 切片分配，
+     * 同一物理核心的 SMT 兄弟线程相邻，因此切片尽量占用完整核心并保持在同一 NUMA 节点内
+     *
+     * @param topology CPU 拓扑
+     * @return CPU 编号列表，为空表示不限制
+     */
+    private List<Integer> assignCpus(CpuTopology topology) {
+        String explicit = config.getString(KEY_PREFIX + "cpus", null);
+        if (explicit != null) {
+            return CpuTopology.parseCpuList(explicit);
+        }
+
+        int cpuCount = config.getInt(KEY_PREFIX + "cpuCount", 0);
+        if (cpuCount <= 0) {
+            return new ArrayList<>();
+        }
+
+        boolean useSmt = config.getBoolean(KEY_PREFIX + "useSmt", true);
+        List<Integer> ordered = new ArrayList<>();
+        for (List<Integer> core : topology.getCores()) {
+            if (useSmt) {
+                ordered.addAll(core);
+            } else {
+                ordered.add(core.get(0));
+            }
+        }
+
+        if (cpuCount >= ordered.size()) {
+            ConsoleUtils.logWarn("placement.cpuCount " + cpuCount + " >= available CPUs " + ordered.size() + ", using all.");
+            return ordered;
+        }
+
+        int instanceIndex = Math.max(0, config.getInt(KEY_PREFIX + "instanceIndex", 0));
+        int start = (instanceIndex * cpuCount) % ordered.size();
+        List<Integer> cpus = new ArrayList<>();
+        for (int i = 0; i < cpuCount; i++) {
+            cpus.add(ordered.get((start + i) % ordered.size()));
+        }
+        return cpus;
+    }
+
+    private boolean containsActiveProcessorCount(List<String> command) {
+        for (String arg : command) {
+            if (arg.startsWith("-XX:ActiveProcessorCount=")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean requireTool(String name) {
+        if (findTool(name) != null) {
+            return true;
+        }
+        ConsoleUtils.logWarn(name + " not found in PATH, skipping that part of the CPU placement.");
+        return false;
+    }
+
+    /**
+     * 在 PATH 中查找可执行文件
+     *
+     * @param name 可执行文件名
+     * @return 可执行文件，未找到返回 null
+     */
+    private static File findTool(String name) {
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return null;
+        }
+        for (String dir : path.split(File.pathSeparator)) {
+            File file = new File(dir, name);
+            if (file.isFile() && file.canExecute()) {
+                return file;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,188 @@
+package top.zeronight.forgerlauncher.process;
+
+import top.zeronight.forgerlauncher.config.LauncherConfig;
+import top.zeronight.forgerlauncher.platform.PlatformDetector;
+import top.zeronight.forgerlauncher.util.ConsoleUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 子进程原生内存分配器配置
+ * 通过 ProcessBuilder.environment() 调整 glibc malloc 参数，或使用 LD_PRELOAD 替换为 jemalloc/tcmalloc
+ */
+public enum NativeMemoryProfile {
+
+    /**
+     * 不修改子进程环境
+     */
+    DEFAULT("default"),
+
+    /**
+     * 限制 glibc 每线程 arena 数量并降低 trim 阈值
+     */
+    GLIBC("glibc"),
+
+    /**
+     * 预加载 jemalloc
+     */
+    JEMALLOC("jemalloc", "libjemalloc.so.2", "libjemalloc.so"),
+
+    /**
+     * 预加载 tcmalloc
+     */
+    TCMALLOC("tcmalloc", "libtcmalloc_minimal.so.4", "libtcmalloc.so.4", "libtcmalloc_minimal.so", "libtcmalloc.so");
+
+    private static final String DEFAULT_JEMALLOC_CONF = "background_thread:true,dirty_decay_ms:10000";
+
+    private static final String[] LIBRARY_DIRS = {
+            "/usr/lib/x86_64-linux-gnu",
+            "/usr/lib/aarch64-linux-gnu",
+            "/usr/lib64",
+            "/usr/lib",
+            "/usr/local/lib",
+            "/lib/x86_64-linux-gnu",
+            "/lib/aarch64-linux-gnu",
+            "/lib64",
+            "/lib"
+    };
+
+    private final String name;
+    private final String[] libraryNames;
+
+    NativeMemoryProfile(String name, String... libraryNames) {
+        this.name = name;
+        this.libraryNames = libraryNames;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 根据 native.profile 配置解析分配器配置
+     * auto 会依次尝试 jemalloc、tcmalloc，都不存在时使用 glibc 调优
+     *
+     * @param config 启动器配置
+     * @return 分配器配置
+     */
+    public static NativeMemoryProfile fromConfig(LauncherConfig config) {
+        String value = config.getString("native.profile", DEFAULT.name);
+
+        if ("auto".equalsIgnoreCase(value)) {
+            for (NativeMemoryProfile profile : new NativeMemoryProfile[]{JEMALLOC, TCMALLOC}) {
+                if (profile.findLibrary(config) != null) {
+                    return profile;
+                }
+            }
+            return GLIBC;
+        }
+
+        for (NativeMemoryProfile profile : values()) {
+            if (profile.name.equalsIgnoreCase(value)) {
+                return profile;
+            }
+        }
+
+        ConsoleUtils.logWarn("Unknown native.profile '" + value + "', using default allocator settings.");
+        return DEFAULT;
+    }
+
+    /**
+     * 列出当前系统上可用的分配器配置
+     *
+     * @param config 启动器配置
+     * @return 可用配置列表
+     */
+    public static List<NativeMemoryProfile> availableProfiles(LauncherConfig config) {
+        List<NativeMemoryProfile> profiles = new ArrayList<>();
+        for (NativeMemoryProfile profile : values()) {
+            if (profile.isAvailable(config)) {
+                profiles.add(profile);
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * 判断该配置在当前系统上是否可用
+     *
+     * @param config 启动器配置
+     * @return 是否可用
+     */
+    public boolean isAvailable(LauncherConfig config) {
+        if (this == DEFAULT) {
+            return true;
+        }
+        if (PlatformDetector.detect() != PlatformDetector.OperatingSystem.LINUX) {
+            return false;
+        }
+        return libraryNames.length == 0 || findLibrary(config) != null;
+    }
+
+    /**
+     * 将该配置应用到子进程环境变量
+     *
+     * @param environment ProcessBuilder 的环境变量
+     * @param config      启动器配置
+     */
+    public void applyTo(Map<String, String> environment, LauncherConfig config) {
+        if (this == DEFAULT) {
+            return;
+        }
+        if (!isAvailable(config)) {
+            ConsoleUtils.logWarn("Native memory profile '" + name + "' is not available on this system, skipped.");
+            return;
+        }
+
+        if (this == GLIBC) {
+            environment.put("MALLOC_ARENA_MAX", config.getString("native.mallocArenaMax", "2"));
+            environment.put("MALLOC_TRIM_THRESHOLD_", config.getString("native.mallocTrimThreshold", "131072"));
+            return;
+        }
+
+        String library = findLibrary(config).getAbsolutePath();
+        String existing = environment.get("LD_PRELOAD");
+        environment.put("LD_PRELOAD", existing == null || existing.isEmpty() ? library : library + ":" + existing);
+
+        if (this == JEMALLOC) {
+            // 未配置 native.jemallocConf 时保留环境中已有的 MALLOC_CONF
+            String mallocConf = config.getString("native.jemallocConf", null);
+            if (mallocConf != null) {
+                environment.put("MALLOC_CONF", mallocConf);
+            } else if (!environment.containsKey("MALLOC_CONF")) {
+                environment.put("MALLOC_CONF", DEFAULT_JEMALLOC_CONF);
+            }
+        }
+    }
+
+    /**
+     * 查找分配器共享库，优先使用 native.&lt;name&gt;Path 配置的路径
+     *
+     * @param config 启动器配置
+     * @return 共享库文件，未找到返回 null
+     */
+    public File findLibrary(LauncherConfig config) {
+        if (libraryNames.length == 0) {
+            return null;
+        }
+
+        String configured = config.getString("native." + name + "Path", null);
+        if (configured != null) {
+            File file = new File(configured);
+            return file.isFile() ? file : null;
+        }
+
+        for (String dir : LIBRARY_DIRS) {
+            for (String libraryName : libraryNames) {
+                File file = new File(dir, libraryName);
+                if (file.isFile()) {
+                    return file;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,148 @@
+package top.zeronight.forgerlauncher.process;
+
+import top.zeronight.forgerlauncher.config.LauncherConfig;
+import top.zeronight.forgerlauncher.monitor.MemorySample;
+import top.zeronight.forgerlauncher.monitor.ProcMemoryReader;
+import top.zeronight.forgerlauncher.util.ConsoleUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 原生内存配置对比工具
+ * 依次使用每个可用的分配器配置启动服务器，等待启动完成并稳定一段时间后记录 RSS，最后输出对比表
+ */
+public class NativeProfileComparison {
+
+    private final LauncherConfig config;
+
+    public NativeProfileComparison(LauncherConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 对所有可用配置运行对比
+     *
+     * @param fullCommand 完整的启动命令列表
+     * @param workDir     工作目录
+     */
+    public void run(List<String> fullCommand, File workDir) {
+        if (!ProcMemoryReader.isSupported()) {
+            ConsoleUtils.logError("Native profile comparison requires /proc and is only supported on Linux.");
+            return;
+        }
+
+        List<NativeMemoryProfile> profiles = NativeMemoryProfile.availableProfiles(config);
+        ConsoleUtils.logInfo("Comparing native memory profiles: " + profiles);
+        ConsoleUtils.logWarn("The server will be started and stopped once per profile.");
+
+        List<String> rows = new ArrayList<>();
+        for (NativeMemoryProfile profile : profiles) {
+            ConsoleUtils.logInfo("Starting server with native profile '" + profile.getName() + "'...");
+            try {
+                rows.add(measure(profile, fullCommand, workDir));
+            } catch (IOException e) {
+                ConsoleUtils.logError("Failed to run profile '" + profile.getName() + "': " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        ConsoleUtils.logInfo(String.format("%-10s %10s %10s %10s %10s %10s",
+                "profile", "startup", "rss(MB)", "peak(MB)", "anon(MB)", "pss(MB)"));
+        for (String row : rows) {
+            ConsoleUtils.logInfo(row);
+        }
+    }
+
+    /**
+     * 使用指定配置启动一次服务器并测量内存
+     *
+     * @param profile     分配器配置
+     * @param fullCommand 完整的启动命令列表
+     * @param workDir     工作目录
+     * @return 格式化后的结果行
+     */
+    private String measure(NativeMemoryProfile profile, List<String> fullCommand, File workDir)
+            throws IOException, InterruptedException {
+        long startTimeout = config.getLong("native.compare.startTimeoutSeconds", 600);
+        long settleSeconds = config.getLong("native.compare.settleSeconds", 60);
+
+        ProcessBuilder processBuilder = new ProcessBuilder(fullCommand);
+        processBuilder.directory(workDir);
+        processBuilder.redirectErrorStream(true);
+        profile.applyTo(processBuilder.environment(), config);
+
+        long startedAt = System.nanoTime();
+        Process process = processBuilder.start();
+
+        // 丢弃输出，只等待 "Done (" 启动完成标志
+        CountDownLatch started = new CountDownLatch(1);
+        Thread outputThread = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.contains("Done (")) {
+                        started.countDown();
+                    }
+                }
+            } catch (IOException e) {
+                // 进程已退出
+            }
+        });
+        outputThread.setDaemon(true);
+        outputThread.start();
+
+        String row;
+        if (!started.await(startTimeout, TimeUnit.SECONDS) || !process.isAlive()) {
+            row = String.format("%-10s %10s", profile.getName(), "failed");
+        } else {
+            long startupMillis = (System.nanoTime() - startedAt) / 1000000L;
+            Thread.sleep(settleSeconds * 1000L);
+
+            Optional<MemorySample> sample = ProcMemoryReader.read(process.pid());
+            if (sample.isPresent()) {
+                MemorySample memory = sample.get();
+                row = String.format("%-10s %9.1fs %10d %10d %10d %10d", profile.getName(), startupMillis / 1000.0,
+                        memory.getRssKb() / 1024, memory.getPeakRssKb() / 1024,
+                        memory.getAnonKb() / 1024, memory.getPssKb() / 1024);
+            } else {
+                row = String.format("%-10s %10s", profile.getName(), "exited");
+            }
+        }
+
+        stop(process);
+        return row;
+    }
+
+    /**
+     * 通过 stop 命令停止服务器，超时后强制结束
+     *
+     * @param process 子进程
+     */
+    private void stop(Process process) throws InterruptedException {
+        if (!process.isAlive()) {
+            return;
+        }
+        try {
+            OutputStream processInput = process.getOutputStream();
+            processInput.write("stop\n".getBytes(StandardCharsets.UTF_8));
+            processInput.flush();
+        } catch (IOException e) {
+            // 进程已关闭 stdin
+        }
+        if (!process.waitFor(config.getLong("native.compare.stopTimeoutSeconds", 120), TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
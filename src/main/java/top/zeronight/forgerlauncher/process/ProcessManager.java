@@ -1,17 +1,48 @@
 package top.zeronight.forgerlauncher.process;
 
+import top.zeronight.forgerlauncher.config.LauncherConfig;
+import top.zeronight.forgerlauncher.log.ConsoleLogWriter;
+import top.zeronight.forgerlauncher.monitor.MemoryWatchdog;
+import top.zeronight.forgerlauncher.monitor.ThreadCpuSampler;
 import top.zeronight.forgerlauncher.util.ConsoleUtils;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 进程管理器，负责构建 ProcessBuilder、启动子进程并管理其生命周期
  */
 public class ProcessManager {
 
+    private static final int FORWARDER_JOIN_SECONDS = 2;
+
+    private final LauncherConfig config;
+    private final NativeMemoryProfile nativeMemoryProfile;
+    private final Object stdinLock = new Object();
+    private final Object lifecycleLock = new Object();
+    private volatile Process currentProcess;
+    private volatile boolean restartRequested;
+    private volatile boolean shuttingDown;
+    private Thread stdoutThread;
+    private Thread stderrThread;
+    private ConsoleLogWriter consoleLog;
+    private volatile ThreadCpuSampler threadSampler;
+
+    public ProcessManager() {
+        this(LauncherConfig.empty());
+    }
+
+    public ProcessManager(LauncherConfig config) {
+        this.config = config;
+        this.nativeMemoryProfile = NativeMemoryProfile.fromConfig(config);
+    }
+
     /**
      * 启动服务器子进程
+     * 如果运行期间请求了重启（例如内存看门狗触发），子进程退出后会使用相同的命令重新启动
+     * 启动器以子进程的退出码退出；收到 SIGTERM/SIGINT 时由关闭钩子平滑停止子进程
      *
      * @param fullCommand 完整的启动命令列表
      * @param workDir     工作目录
@@ -19,47 +50,262 @@ public class ProcessManager {
     public void launchServer(List<String> fullCommand, File workDir) {
         try {
             ConsoleUtils.logDebug("Working directory for subprocess: " + workDir.getAbsolutePath());
+            if (nativeMemoryProfile != NativeMemoryProfile.DEFAULT) {
+                ConsoleUtils.logInfo("Using native memory profile: " + nativeMemoryProfile.getName());
+            }
+
+            // 将子进程输出同时写入带索引的分段日志，供 --logs 搜索
+            consoleLog = ConsoleLogWriter.open(config, workDir);
+
+            // 转发 System.in 到当前子进程 stdin，重启后自动切换到新进程
+            Thread stdinThread = new Thread(() ->
+                    forwardInputToProcess(System.in)
+            );
+            stdinThread.setDaemon(true);
+            stdinThread.start();
+
+            // 启动器被 systemd/Docker 终止时先平滑停止服务器
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdownServer, "server-shutdown"));
+
+            int exitCode;
+            do {
+                restartRequested = false;
+                Process process = startProcess(fullCommand, workDir);
+                if (process == null) {
+                    // 启动器正在关闭，关闭钩子负责结束 JVM
+                    return;
+                }
+
+                MemoryWatchdog watchdog = new MemoryWatchdog(config, this, workDir);
+                watchdog.start(process.pid());
+
+                if (ThreadCpuSampler.isEnabled(config)) {
+                    threadSampler = new ThreadCpuSampler(config);
+                    threadSampler.start(process.pid());
+                }
+
+                // 等待子进程结束并获取退出码
+                exitCode = process.waitFor();
+                joinForwarders();
+                watchdog.stop();
+                if (threadSampler != null) {
+                    threadSampler.stop();
+                }
+                ConsoleUtils.logInfo("Process exited with code: " + exitCode);
+
+                if (restartRequested && !shuttingDown) {
+                    ConsoleUtils.logInfo("Restarting server...");
+                }
+            } while (restartRequested && !shuttingDown);
+
+            closeConsoleLog();
+            System.exit(exitCode);
+
+        } catch (Exception e) {
+            ConsoleUtils.logError("Failed to launch server: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 向子进程 stdin 发送一条控制台命令
+     *
+     * @param command 命令（不含换行）
+     * @return 是否发送成功
+     */
+    public boolean sendCommand(String command) {
+        Process process = currentProcess;
+        if (process == null || !process.isAlive()) {
+            return false;
+        }
+
+        synchronized (stdinLock) {
+            try {
+                OutputStream processInput = process.getOutputStream();
+                processInput.write((command + "\n").getBytes(Charset.defaultCharset()));
+                processInput.flush();
+                return true;
+            } catch (IOException e) {
+                ConsoleUtils.logError("Failed to send command to server: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 提示玩家后保存并停止服务器，子进程退出后由 launchServer 重新启动
+     * 此方法会阻塞调用线程直到倒计时结束并发出 stop 命令
+     *
+     * @param reason         重启原因
+     * @param warningSeconds 提示玩家的倒计时秒数
+     */
+    public void restartServer(String reason, int warningSeconds) {
+        Process process = currentProcess;
+        if (process == null || !process.isAlive()) {
+            return;
+        }
+
+        restartRequested = true;
+        ConsoleUtils.logWarn("Scheduling server restart in " + warningSeconds + "s: " + reason);
+
+        try {
+            int remaining = warningSeconds;
+            while (remaining > 0) {
+                sendCommand("say Server will restart in " + remaining + " seconds for maintenance.");
+                int step = remaining > 10 ? remaining - 10 : remaining;
+                Thread.sleep(step * 1000L);
+                remaining -= step;
+            }
+
+            sendCommand("say Saving world and restarting now...");
+            sendCommand("save-all flush");
+            stopServer(process, config.getInt("memory.watchdog.stopTimeoutSeconds", 300));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 关闭钩子：启动器收到终止信号时发送 stop 并等待子进程保存退出，随后以子进程的退出码结束启动器
+     */
+    private void shutdownServer() {
+        Process process;
+        synchronized (lifecycleLock) {
+            // 无论当前是否有子进程都先标记关闭，避免主循环在重启间隙启动新的子进程
+            shuttingDown = true;
+            process = currentProcess;
+        }
+        if (process == null || !process.isAlive()) {
+            return;
+        }
+
+        ConsoleUtils.logWarn("Launcher is shutting down, stopping server...");
+        long startedAt = System.nanoTime();
+
+        try {
+            int exitCode = stopServer(process, config.getInt("shutdown.timeoutSeconds", 60));
+            ConsoleUtils.logInfo(String.format("Server stopped in %.1fs with code: %d",
+                    (System.nanoTime() - startedAt) / 1e9, exitCode));
+            // 等待转发线程输出管道中剩余的保存日志
+            joinForwarders();
+            closeConsoleLog();
+            System.out.flush();
+            System.err.flush();
+            // 关闭钩子中不能调用 System.exit，使用 halt 以子进程的退出码结束
+            Runtime.getRuntime().halt(exitCode);
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+        }
+    }
+
+    /**
+     * 发送 stop 命令并在期限内等待子进程退出，超时后依次升级为 destroy 和 destroyForcibly
+     * 等待期间子进程输出（保存进度）继续由转发线程实时输出
+     *
+     * @param process        子进程
+     * @param timeoutSeconds 等待平滑退出的秒数
+     * @return 子进程退出码
+     * @throws InterruptedException 等待被中断时抛出
+     */
+    private int stopServer(Process process, int timeoutSeconds) throws InterruptedException {
+        sendCommand("stop");
+
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (process.isAlive()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            if (!process.waitFor(Math.min(remaining, TimeUnit.SECONDS.toNanos(10)), TimeUnit.NANOSECONDS)) {
+                ConsoleUtils.logDebug("Waiting for server to save and stop... "
+                        + TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt) + "s elapsed");
+            }
+        }
+
+        if (process.isAlive()) {
+            int destroyTimeout = config.getInt("shutdown.destroyTimeoutSeconds", 10);
+            ConsoleUtils.logError("Server did not stop within " + timeoutSeconds + "s, sending SIGTERM.");
+            process.destroy();
+            if (!process.waitFor(destroyTimeout, TimeUnit.SECONDS)) {
+                ConsoleUtils.logError("Server did not exit within " + destroyTimeout + "s after SIGTERM, killing it.");
+                process.destroyForcibly();
+            }
+        }
+
+        return process.waitFor();
+    }
+
+    /**
+     * 构建并启动子进程，同时启动输出转发线程
+     *
+     * @param fullCommand 完整的启动命令列表
+     * @param workDir     工作目录
+     * @return 已启动的子进程，启动器正在关闭时返回 null
+     * @throws IOException 启动失败时抛出
+     */
+    private Process startProcess(List<String> fullCommand, File workDir) throws IOException {
+        // 与关闭钩子使用同一把锁，保证钩子要么看到新进程，要么阻止其启动
+        synchronized (lifecycleLock) {
+            if (shuttingDown) {
+                return null;
+            }
 
             // 使用 ProcessBuilder 启动子进程
             ProcessBuilder processBuilder = new ProcessBuilder(fullCommand);
             processBuilder.directory(workDir);
+            nativeMemoryProfile.applyTo(processBuilder.environment(), config);
 
             Process process = processBuilder.start();
+            currentProcess = process;
+            ConsoleUtils.logDebug("Server process started with PID " + process.pid());
 
             // 线程 1：转发子进程 stdout 到 System.out
-            Thread stdoutThread = new Thread(() ->
+            stdoutThread = new Thread(() ->
                     forwardStream(process.getInputStream(), System.out, null)
             );
             stdoutThread.setDaemon(true);
             stdoutThread.start();
 
             // 线程 2：转发子进程 stderr 到 System.err（带红色前缀）
-            Thread stderrThread = new Thread(() ->
+            stderrThread = new Thread(() ->
                     forwardStream(process.getErrorStream(), System.err, "ERROR: ")
             );
             stderrThread.setDaemon(true);
             stderrThread.start();
 
-            // 线程 3：转发 System.in 到子进程 stdin
-            Thread stdinThread = new Thread(() ->
-                    forwardInputToProcess(System.in, process.getOutputStream())
-            );
-            stdinThread.setDaemon(true);
-            stdinThread.start();
+            return process;
+        }
+    }
 
-            // 等待子进程结束并获取退出码
-            int exitCode = process.waitFor();
-            ConsoleUtils.logInfo("Process exited with code: " + exitCode);
-            System.exit(0);
+    /**
+     * 子进程退出后短暂等待输出转发线程读完管道中剩余的内容
+     */
+    private void joinForwarders() throws InterruptedException {
+        Thread stdout;
+        Thread stderr;
+        synchronized (lifecycleLock) {
+            stdout = stdoutThread;
+            stderr = stderrThread;
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(FORWARDER_JOIN_SECONDS);
+        for (Thread forwarder : new Thread[]{stdout, stderr}) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (forwarder != null && remaining > 0) {
+                forwarder.join(remaining);
+            }
+        }
+    }
 
-        } catch (Exception e) {
-            ConsoleUtils.logError("Failed to launch server: " + e.getMessage());
-            e.printStackTrace();
+    private void closeConsoleLog() {
+        if (consoleLog != null) {
+            consoleLog.close();
         }
     }
 
     /**
-     * 转发输入流到输出流
+     * 转发输入流到输出流，并写入分段日志
      *
      * @param source 源输入流
      * @param target 目标输出流
@@ -69,6 +315,9 @@ public class ProcessManager {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(source))) {
             String line;
             while ((line = reader.readLine()) != null) {
+                if (consoleLog != null) {
+                    consoleLog.append(line);
+                }
                 if (prefix != null) {
                     target.println(ConsoleUtils.RED + prefix + line + ConsoleUtils.RESET);
                 } else {
@@ -81,19 +330,24 @@ public class ProcessManager {
     }
 
     /**
-     * 转发用户输入到子进程
+     * 按行转发用户输入到当前子进程
+     * 线程采样器的触发命令（默认 !threads）由启动器处理，不转发给服务器
      *
-     * @param userInput     用户输入流（System.in）
-     * @param processInput  子进程输入流
+     * @param userInput 用户输入流（System.in）
      */
-    private void forwardInputToProcess(InputStream userInput, OutputStream processInput) {
-        try {
-            byte[] buffer = new byte[1024];
-            int bytesRead;
+    private void forwardInputToProcess(InputStream userInput) {
+        String samplerTrigger = ThreadCpuSampler.getTrigger(config);
 
-            while ((bytesRead = userInput.read(buffer)) != -1) {
-                processInput.write(buffer, 0, bytesRead);
-                processInput.flush();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(userInput, Charset.defaultCharset()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ThreadCpuSampler sampler = threadSampler;
+                if (sampler != null && samplerTrigger.equals(line.trim())) {
+                    sampler.dumpNow();
+                    continue;
+                }
+                // 子进程正在重启时丢弃本次输入
+                sendCommand(line);
             }
         } catch (IOException e) {
             // 忽略或记录日志
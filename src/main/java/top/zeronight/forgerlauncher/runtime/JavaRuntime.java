@@ -0,0 +1,67 @@
+package top.zeronight.forgerlauncher.runtime;
+
+import top.zeronight.forgerlauncher.platform.PlatformDetector;
+
+import java.io.File;
+
+/**
+ * Java 运行时信息数据类，描述一个已安装的 JDK/JRE
+ */
+public class JavaRuntime {
+
+    private final File home;
+    private final String version;
+    private final int featureVersion;
+    private final String implementor;
+
+    public JavaRuntime(File home, String version, int featureVersion, String implementor) {
+        this.home = home;
+        this.version = version;
+        this.featureVersion = featureVersion;
+        this.implementor = implementor;
+    }
+
+    public File getHome() {
+        return home;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public int getFeatureVersion() {
+        return featureVersion;
+    }
+
+    public String getImplementor() {
+        return implementor;
+    }
+
+    /**
+     * 获取该运行时的 java 可执行文件
+     *
+     * @return java 可执行文件
+     */
+    public File getExecutable() {
+        return getExecutable(home);
+    }
+
+    /**
+     * 获取 JDK 目录下的 java 可执行文件，Windows 上为 java.exe
+     *
+     * @param home JDK 目录
+     * @return java 可执行文件
+     */
+    public static File getExecutable(File home) {
+        return new File(new File(home, "bin"), PlatformDetector.isWindows() ? "java.exe" : "java");
+    }
+
+    @Override
+    public String toString() {
+        return "JavaRuntime{" +
+                "home=" + home.getAbsolutePath() +
+                ", version='" + version + '\'' +
+                ", implementor='" + implementor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,384 @@
+package top.zeronight.forgerlauncher.runtime;
+
+import top.zeronight.forgerlauncher.config.LauncherConfig;
+import top.zeronight.forgerlauncher.util.ConsoleUtils;
+import top.zeronight.forgerlauncher.version.VersionInfo;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Java 运行时检测器，负责扫描已安装的 JDK 并为子进程选择与服务端版本兼容的最新运行时
+ * 扫描 /usr/lib/jvm、JAVA_HOME 系列环境变量以及 java.searchPaths 配置的目录，读取各运行时的 release 文件
+ */
+public class JavaRuntimeDetector {
+
+    private static final String[] SYSTEM_JVM_DIRS = {"/usr/lib/jvm", "/usr/lib64/jvm", "/Library/Java/JavaVirtualMachines"};
+    private static final String CACHE_FILE = ".launcher/java-runtimes.cache";
+
+    private final LauncherConfig config;
+    private final File cacheFile;
+
+    public JavaRuntimeDetector(LauncherConfig config) {
+        this.config = config;
+        this.cacheFile = new File(CACHE_FILE);
+    }
+
+    /**
+     * 为指定服务端版本选择 Java 运行时
+     * 优先使用 java.runtime 固定的运行时，否则选择兼容范围内版本最高的运行时
+     *
+     * @param versionInfo 服务端版本信息
+     * @return 选中的运行时，未启用自动选择或没有兼容运行时时返回 empty（使用当前进程的 Java）
+     */
+    public Optional<JavaRuntime> selectRuntime(VersionInfo versionInfo) {
+        if (!config.getBoolean("java.autoSelect", true)) {
+            return Optional.empty();
+        }
+
+        int minVersion = getMinimumJavaVersion(versionInfo);
+        int maxVersion = getMaximumJavaVersion(versionInfo);
+        ConsoleUtils.logDebug("Server " + versionInfo.getVersionString() + " requires Java " + minVersion
+                + (maxVersion == Integer.MAX_VALUE ? "+" : (maxVersion == minVersion ? "" : "-" + maxVersion)));
+
+        String pinned = config.getString("java.runtime", null);
+        if (pinned != null && !pinned.matches("\\d+")) {
+            return getPinnedRuntime(pinned, minVersion, maxVersion);
+        }
+
+        List<JavaRuntime> runtimes = scanRuntimes();
+        JavaRuntime selected = null;
+        for (JavaRuntime runtime : runtimes) {
+            int feature = runtime.getFeatureVersion();
+            if (pinned != null ? feature != Integer.parseInt(pinned) : feature < minVersion || feature > maxVersion) {
+                continue;
+            }
+            if (selected == null || compareRuntimes(runtime, selected) > 0) {
+                selected = runtime;
+            }
+        }
+
+        if (selected == null) {
+            ConsoleUtils.logWarn("No installed Java runtime matches the requirement"
+                    + (pinned != null ? " java.runtime=" + pinned : "") + ", falling back to current process.");
+        }
+        return Optional.ofNullable(selected);
+    }
+
+    /**
+     * 扫描所有候选目录中的 Java 运行时，结果按 release 文件修改时间缓存
+     *
+     * @return 去重后的运行时列表
+     */
+    public List<JavaRuntime> scanRuntimes() {
+        Properties cache = loadCache();
+        Properties updatedCache = new Properties();
+        List<JavaRuntime> runtimes = new ArrayList<>();
+
+        for (File home : findCandidateHomes()) {
+            JavaRuntime runtime = readRuntime(home, cache, updatedCache);
+            if (runtime != null) {
+                ConsoleUtils.logDebug("Found Java runtime: " + runtime);
+                runtimes.add(runtime);
+            }
+        }
+
+        if (!updatedCache.equals(cache)) {
+            saveCache(updatedCache);
+        }
+        return runtimes;
+    }
+
+    /**
+     * 获取服务端版本所需的最低 Java 版本
+     * 1.17 - 1.20.4 需要 Java 17，1.20.5 起需要 Java 21，26.1 起需要 Java 25
+     *
+     * @param versionInfo 服务端版本信息
+     * @return 最低 Java 主版本号
+     */
+    public static int getMinimumJavaVersion(VersionInfo versionInfo) {
+        int[] minecraft = versionInfo.getMinecraftVersionParts();
+        if (compareVersionNumbers(minecraft, new int[]{26}) >= 0) {
+            return 25;
+        }
+        if (compareVersionNumbers(minecraft, new int[]{1, 20, 5}) >= 0) {
+            return 21;
+        }
+        return 17;
+    }
+
+    /**
+     * 获取服务端版本支持的最高 Java 版本
+     * 1.20.4 及更早版本的 Forge 依赖的 ASM 不支持更新的字节码，固定使用 Java 17
+     *
+     * @param versionInfo 服务端版本信息
+     * @return 最高 Java 主版本号，无上限时返回 Integer.MAX_VALUE
+     */
+    public static int getMaximumJavaVersion(VersionInfo versionInfo) {
+        int[] minecraft = versionInfo.getMinecraftVersionParts();
+        if (minecraft.length > 0 && compareVersionNumbers(minecraft, new int[]{1, 20, 5}) < 0) {
+            return 17;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 读取 java.runtime 固定的运行时，可以是 JDK 目录或 java 可执行文件
+     *
+     * @param pinned     配置的路径
+     * @param minVersion 最低兼容版本
+     * @param maxVersion 最高兼容版本
+     * @return 固定的运行时，无效时返回 empty
+     */
+    private Optional<JavaRuntime> getPinnedRuntime(String pinned, int minVersion, int maxVersion) {
+        File path = new File(pinned);
+        File home = path.isFile() ? path.getAbsoluteFile().getParentFile().getParentFile() : path;
+
+        JavaRuntime runtime = home == null ? null : readRuntime(home, new Properties(), new Properties());
+        if (runtime == null) {
+            ConsoleUtils.logError("Pinned Java runtime is not a valid JDK: " + pinned);
+            return Optional.empty();
+        }
+
+        int feature = runtime.getFeatureVersion();
+        if (feature < minVersion || feature > maxVersion) {
+            ConsoleUtils.logWarn("Pinned Java " + runtime.getVersion() + " is outside the supported range for this server.");
+        }
+        return Optional.of(runtime);
+    }
+
+    /**
+     * 收集所有候选 JDK 目录
+     *
+     * @return 规范化路径去重后的目录集合
+     */
+    private Set<File> findCandidateHomes() {
+        List<File> roots = new ArrayList<>();
+
+        for (String path : config.getList("java.searchPaths")) {
+            roots.add(new File(path));
+        }
+
+        // JAVA_HOME、JAVA17_HOME、JAVA_HOME_21_X64 等环境变量
+        for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
+            if (entry.getKey().matches("JAVA(\\d+)?_HOME(_\\w+)?")) {
+                roots.add(new File(entry.getValue()));
+            }
+        }
+
+        roots.add(new File(System.getProperty("java.home")));
+
+        for (String dir : SYSTEM_JVM_DIRS) {
+            roots.add(new File(dir));
+        }
+
+        Set<File> homes = new LinkedHashSet<>();
+        for (File root : roots) {
+            if (isJavaHome(root)) {
+                addCanonical(homes, root);
+                continue;
+            }
+
+            File[] children = root.listFiles(File::isDirectory);
+            if (children == null) {
+                continue;
+            }
+            for (File child : children) {
+                if (isJavaHome(child)) {
+                    addCanonical(homes, child);
+                } else {
+                    // macOS 的 JDK 布局为 <name>.jdk/Contents/Home
+                    File macHome = new File(child, "Contents/Home");
+                    if (isJavaHome(macHome)) {
+                        addCanonical(homes, macHome);
+                    }
+                }
+            }
+        }
+
+        return homes;
+    }
+
+    private boolean isJavaHome(File dir) {
+        return new File(dir, "release").isFile() && JavaRuntime.getExecutable(dir).isFile();
+    }
+
+    private void addCanonical(Set<File> homes, File dir) {
+        try {
+            homes.add(dir.getCanonicalFile());
+        } catch (IOException e) {
+            homes.add(dir.getAbsoluteFile());
+        }
+    }
+
+    /**
+     * 读取 JDK 的 release 文件，命中缓存时跳过解析
+     *
+     * @param home         JDK 目录
+     * @param cache        已有缓存
+     * @param updatedCache 本次扫描后的缓存
+     * @return 运行时信息，release 文件无效时返回 null
+     */
+    private JavaRuntime readRuntime(File home, Properties cache, Properties updatedCache) {
+        File releaseFile = new File(home, "release");
+        String key = home.getAbsolutePath();
+        String stamp = releaseFile.lastModified() + "|" + releaseFile.length();
+
+        String cached = cache.getProperty(key);
+        if (cached != null && cached.startsWith(stamp + "|")) {
+            String[] fields = cached.split("\\|", 5);
+            if (fields.length == 5) {
+                try {
+                    int feature = Integer.parseInt(fields[2]);
+                    updatedCache.setProperty(key, cached);
+                    return new JavaRuntime(home, fields[3], feature, fields[4]);
+                } catch (NumberFormatException e) {
+                    // 缓存条目损坏，重新读取 release 文件
+                }
+            }
+        }
+
+        Map<String, String> release = readReleaseFile(releaseFile);
+        String version = release.get("JAVA_VERSION");
+        if (version == null) {
+            return null;
+        }
+
+        int feature = parseFeatureVersion(version);
+        if (feature <= 0) {
+            return null;
+        }
+
+        String implementor = release.getOrDefault("IMPLEMENTOR", "unknown");
+        updatedCache.setProperty(key, stamp + "|" + feature + "|" + version + "|" + implementor);
+        return new JavaRuntime(home, version, feature, implementor);
+    }
+
+    /**
+     * 解析 release 文件中的 KEY="value" 键值对
+     *
+     * @param releaseFile release 文件
+     * @return 键值映射
+     */
+    private Map<String, String> readReleaseFile(File releaseFile) {
+        Map<String, String> values = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(releaseFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf('=');
+                if (separator <= 0) {
+                    continue;
+                }
+                String value = line.substring(separator + 1).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                values.put(line.substring(0, separator).trim(), value);
+            }
+        } catch (IOException e) {
+            ConsoleUtils.logWarn("Error reading " + releaseFile.getAbsolutePath() + ": " + e.getMessage());
+        }
+        return values;
+    }
+
+    /**
+     * 从版本字符串中解析主版本号，兼容 "1.8.0_392" 旧格式
+     *
+     * @param version 版本字符串
+     * @return 主版本号，解析失败返回 0
+     */
+    private static int parseFeatureVersion(String version) {
+        int[] parts = parseVersionNumbers(version);
+        if (parts.length == 0) {
+            return 0;
+        }
+        if (parts[0] == 1 && parts.length > 1) {
+            return parts[1];
+        }
+        return parts[0];
+    }
+
+    private static int[] parseVersionNumbers(String version) {
+        String[] tokens = version.split("[^\\d]+");
+        List<Integer> numbers = new ArrayList<>();
+        for (String token : tokens) {
+            if (!token.isEmpty()) {
+                try {
+                    numbers.add(Integer.parseInt(token));
+                } catch (NumberFormatException e) {
+                    break;
+                }
+            }
+        }
+        int[] result = new int[numbers.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = numbers.get(i);
+        }
+        return result;
+    }
+
+    private static int compareRuntimes(JavaRuntime a, JavaRuntime b) {
+        int result = Integer.compare(a.getFeatureVersion(), b.getFeatureVersion());
+        if (result != 0) {
+            return result;
+        }
+        return compareVersionNumbers(parseVersionNumbers(a.getVersion()), parseVersionNumbers(b.getVersion()));
+    }
+
+    /**
+     * 比较两个版本号数组，缺失的段视为 0
+     *
+     * @param v1 第一个版本号数组
+     * @param v2 第二个版本号数组
+     * @return v1 > v2 返回正数，v1 < v2 返回负数，相等返回 0
+     */
+    private static int compareVersionNumbers(int[] v1, int[] v2) {
+        int maxLength = Math.max(v1.length, v2.length);
+        for (int i = 0; i < maxLength; i++) {
+            int a = i < v1.length ? v1[i] : 0;
+            int b = i < v2.length ? v2[i] : 0;
+            if (a != b) {
+                return Integer.compare(a, b);
+            }
+        }
+        return 0;
+    }
+
+    private Properties loadCache() {
+        Properties cache = new Properties();
+        if (cacheFile.isFile()) {
+            try (InputStream input = new FileInputStream(cacheFile)) {
+                cache.load(input);
+            } catch (IOException e) {
+                ConsoleUtils.logWarn("Ignoring unreadable Java runtime cache: " + e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    private void saveCache(Properties cache) {
+        File parent = cacheFile.getAbsoluteFile().getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            return;
+        }
+        try (OutputStream output = new FileOutputStream(cacheFile)) {
+            cache.store(output, "Java runtime discovery cache");
+        } catch (IOException e) {
+            ConsoleUtils.logWarn("Failed to write Java runtime cache: " + e.getMessage());
+        }
+    }
+}
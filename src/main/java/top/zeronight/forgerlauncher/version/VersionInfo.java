@@ -43,6 +43,36 @@ public class VersionInfo {
         return type;
     }
 
+    /**
+     * 推导对应的 Minecraft 版本号
+     * Forge 目录名形如 "1.20.1-47.4.0"，取 "-" 前的部分；
+     * NeoForge 版本形如 "21.1.65"，对应 Minecraft 1.21.1，自 26.x 起与 Minecraft 版本号一致
+     *
+     * @return Minecraft 版本号数组，无法推导时返回空数组
+     */
+    public int[] getMinecraftVersionParts() {
+        if (type == ServerType.FORGE) {
+            String[] parts = versionString.split("-")[0].split("\\.");
+            int[] minecraftVersion = new int[parts.length];
+            try {
+                for (int i = 0; i < parts.length; i++) {
+                    minecraftVersion[i] = Integer.parseInt(parts[i]);
+                }
+            } catch (NumberFormatException e) {
+                return new int[0];
+            }
+            return minecraftVersion;
+        }
+
+        if (versionParts.length < 2) {
+            return new int[0];
+        }
+        if (versionParts[0] >= 26) {
+            return new int[]{versionParts[0], versionParts[1]};
+        }
+        return new int[]{1, versionParts[0], versionParts[1]};
+    }
+
     @Override
     public String toString() {
         return "VersionInfo{" +
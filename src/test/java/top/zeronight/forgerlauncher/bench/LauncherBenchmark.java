@@ -0,0 +1,322 @@
+package top.zeronight.forgerlauncher.bench;
+
+import top.zeronight.forgerlauncher.ForgeServerLauncher;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * 端到端基准测试，使用 {@link StubForgeServer} 代替真实服务端，完全离线运行
+ * 在临时目录中生成启动器 jar、桩服务端 jar 以及 libraries/net/minecraftforge/forge/&lt;ver&gt;/unix_args.txt，
+ * 然后通过 java -jar 走真实的 ForgeServerLauncher.main → ProcessManager 路径启动，测量：
+ * <ul>
+ *     <li>日志转发吞吐量</li>
+ *     <li>相对直接启动桩服务端的启动器开销</li>
+ *     <li>从进程创建到首行输出的时间</li>
+ *     <li>退出码传递以及 stdin 命令转发</li>
+ * </ul>
+ *
+ * <p>运行方式：
+ * <pre>
+ * mvn -B test-compile
+ * java -cp target/classes:target/test-classes top.zeronight.forgerlauncher.bench.LauncherBenchmark [--lines N] [--runs N] [--keep]
+ * </pre>
+ */
+public class LauncherBenchmark {
+
+    private static final String FORGE_VERSION = "1.20.1-47.4.0";
+    private static final String STUB_MAIN = StubForgeServer.class.getName();
+
+    private final File baseDir;
+    private final String javaExecutable;
+    private final File launcherJar;
+    private final File stubJar;
+
+    public LauncherBenchmark(File baseDir, String javaExecutable) {
+        this.baseDir = baseDir;
+        this.javaExecutable = javaExecutable;
+        this.launcherJar = new File(baseDir, "forge-server-launcher.jar");
+        this.stubJar = new File(baseDir, "stub-server.jar");
+    }
+
+    public static void main(String[] args) throws Exception {
+        int lines = intArg(args, "--lines", 200000);
+        int runs = intArg(args, "--runs", 3);
+        boolean keep = Arrays.asList(args).contains("--keep");
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+        File baseDir = Files.createTempDirectory("fsl-bench").toFile();
+        LauncherBenchmark benchmark = new LauncherBenchmark(baseDir, java);
+        try {
+            benchmark.prepare();
+            boolean passed = benchmark.run(lines, runs);
+            if (!passed) {
+                System.exit(1);
+            }
+        } finally {
+            if (keep) {
+                System.out.println("Benchmark files kept in " + baseDir.getAbsolutePath());
+            } else {
+                deleteRecursively(baseDir);
+            }
+        }
+    }
+
+    /**
+     * 生成启动器 jar、桩服务端 jar 以及服务端目录结构
+     */
+    public void prepare() throws IOException, URISyntaxException {
+        File launcherClasses = classesRoot(ForgeServerLauncher.class);
+        File stubClasses = classesRoot(StubForgeServer.class);
+
+        writeJar(launcherJar, launcherClasses, "", ForgeServerLauncher.class.getName());
+        writeJar(stubJar, stubClasses, StubForgeServer.class.getPackage().getName().replace('.', '/'), STUB_MAIN);
+
+        // 固定使用当前 Java，保证与直接启动的结果可比
+        try (PrintWriter writer = new PrintWriter(new File(baseDir, "launcher.properties"), StandardCharsets.UTF_8.name())) {
+            writer.println("java.autoSelect=false");
+        }
+    }
+
+    /**
+     * 运行所有场景并输出结果
+     *
+     * @param lines 吞吐量测试的日志行数
+     * @param runs  每个场景的重复次数
+     * @return 所有正确性检查是否通过
+     */
+    public boolean run(int lines, int runs) throws IOException, InterruptedException {
+        System.out.println("Benchmark directory: " + baseDir.getAbsolutePath());
+        System.out.println("Java: " + javaExecutable + ", lines: " + lines + ", runs: " + runs);
+
+        String[] stubArgs = {"--lines", Integer.toString(lines), "--lag-every", "1000", "--exit-after-done"};
+        List<RunResult> direct = new ArrayList<>();
+        List<RunResult> launched = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            direct.add(runDirect(stubArgs, null));
+            launched.add(runLauncher(stubArgs, null));
+        }
+
+        RunResult directMedian = median(direct);
+        RunResult launchedMedian = median(launched);
+        System.out.println();
+        System.out.println(String.format("%-10s %14s %12s %12s %12s %10s", "mode", "first output", "done", "exit", "MB/s", "lines"));
+        printRow("direct", directMedian);
+        printRow("launcher", launchedMedian);
+        System.out.println(String.format("Launcher overhead: first output +%.1fms, total +%.1fms",
+                (launchedMedian.firstOutputNanos - directMedian.firstOutputNanos) / 1e6,
+                (launchedMedian.exitNanos - directMedian.exitNanos) / 1e6));
+
+        boolean passed = true;
+        System.out.println();
+        passed &= check("all stub lines forwarded", launchedMedian.stubLines == directMedian.stubLines,
+                launchedMedian.stubLines + " / " + directMedian.stubLines);
+
+        RunResult exitResult = runLauncher(new String[]{"--lines", "10", "--exit-after-done", "--exit-code", "42"}, null);
+        passed &= check("exit code propagated on crash", exitResult.exitCode == 42, "got " + exitResult.exitCode);
+
+        RunResult commandResult = runLauncher(new String[]{"--lines", "10"}, "exit 7");
+        passed &= check("stdin command forwarded", commandResult.exitCode == 7, "got " + commandResult.exitCode);
+
+        RunResult stopResult = runLauncher(new String[]{"--lines", "10", "--stop-exit-code", "0"}, "stop");
+        passed &= check("clean stop exits 0", stopResult.exitCode == 0, "got " + stopResult.exitCode);
+
+        return passed;
+    }
+
+    private RunResult runDirect(String[] stubArgs, String command) throws IOException, InterruptedException {
+        List<String> fullCommand = new ArrayList<>(Arrays.asList(javaExecutable, "-cp", stubJar.getAbsolutePath(), STUB_MAIN));
+        fullCommand.addAll(Arrays.asList(stubArgs));
+        return execute(fullCommand, command);
+    }
+
+    private RunResult runLauncher(String[] stubArgs, String command) throws IOException, InterruptedException {
+        writeArgsFile(stubArgs);
+        return execute(Arrays.asList(javaExecutable, "-jar", launcherJar.getAbsolutePath(), "nogui"), command);
+    }
+
+    /**
+     * 生成桩服务端使用的 unix_args.txt
+     *
+     * @param stubArgs 传递给桩服务端的参数
+     */
+    private void writeArgsFile(String[] stubArgs) throws IOException {
+        File versionDir = new File(baseDir, "libraries/net/minecraftforge/forge/" + FORGE_VERSION);
+        if (!versionDir.exists() && !versionDir.mkdirs()) {
+            throw new IOException("Failed to create " + versionDir.getAbsolutePath());
+        }
+        try (PrintWriter writer = new PrintWriter(new File(versionDir, "unix_args.txt"), StandardCharsets.UTF_8.name())) {
+            writer.println("-cp " + stubJar.getAbsolutePath() + " " + STUB_MAIN);
+            writer.println(String.join(" ", stubArgs));
+        }
+    }
+
+    /**
+     * 启动进程并统计输出，在看到 Done 后通过 stdin 发送命令
+     *
+     * @param fullCommand 启动命令
+     * @param command     Done 之后发送的命令（可为 null）
+     * @return 运行结果
+     */
+    private RunResult execute(List<String> fullCommand, String command) throws IOException, InterruptedException {
+        ProcessBuilder processBuilder = new ProcessBuilder(fullCommand);
+        processBuilder.directory(baseDir);
+        processBuilder.redirectErrorStream(true);
+
+        RunResult result = new RunResult();
+        long startedAt = System.nanoTime();
+        Process process = processBuilder.start();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8), 64 * 1024)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (result.firstOutputNanos == 0 && line.startsWith(StubForgeServer.BOOT_MARKER)) {
+                    result.firstOutputNanos = System.nanoTime() - startedAt;
+                }
+                if (line.startsWith("[")) {
+                    result.stubLines++;
+                    result.stubBytes += line.length() + 1;
+                    if (result.doneNanos == 0 && line.contains("Done (")) {
+                        result.doneNanos = System.nanoTime() - startedAt;
+                        if (command != null) {
+                            OutputStream processInput = process.getOutputStream();
+                            processInput.write((command + "\n").getBytes(StandardCharsets.UTF_8));
+                            processInput.flush();
+                        }
+                    }
+                }
+            }
+        }
+
+        if (!process.waitFor(60, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IOException("Process did not exit: " + fullCommand);
+        }
+        result.exitNanos = System.nanoTime() - startedAt;
+        result.exitCode = process.exitValue();
+        return result;
+    }
+
+    private static RunResult median(List<RunResult> results) {
+        List<RunResult> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingLong(r -> r.exitNanos));
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static void printRow(String mode, RunResult result) {
+        double forwardSeconds = (result.doneNanos - result.firstOutputNanos) / 1e9;
+        double megabytesPerSecond = forwardSeconds > 0 ? result.stubBytes / 1048576.0 / forwardSeconds : 0;
+        System.out.println(String.format("%-10s %12.1fms %10.1fms %10.1fms %12.1f %10d", mode,
+                result.firstOutputNanos / 1e6, result.doneNanos / 1e6, result.exitNanos / 1e6,
+                megabytesPerSecond, result.stubLines));
+    }
+
+    private static boolean check(String name, boolean passed, String detail) {
+        System.out.println((passed ? "[PASS] " : "[FAIL] ") + name + " (" + detail + ")");
+        return passed;
+    }
+
+    /**
+     * 获取类所在的 classes 目录
+     *
+     * @param type 类
+     * @return classes 根目录
+     */
+    private static File classesRoot(Class<?> type) throws URISyntaxException, IOException {
+        File root = new File(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+        if (!root.isDirectory()) {
+            throw new IOException("Expected a classes directory but got " + root.getAbsolutePath());
+        }
+        return root;
+    }
+
+    /**
+     * 将 classes 目录中指定前缀下的文件打包为可执行 jar
+     *
+     * @param jarFile   目标 jar
+     * @param root      classes 根目录
+     * @param prefix    只打包该相对路径前缀下的文件（空字符串表示全部）
+     * @param mainClass Main-Class
+     */
+    private static void writeJar(File jarFile, File root, String prefix, String mainClass) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, mainClass);
+
+        try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(jarFile.toPath()), manifest)) {
+            addToJar(jar, root, root, prefix);
+        }
+    }
+
+    private static void addToJar(JarOutputStream jar, File root, File file, String prefix) throws IOException {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    addToJar(jar, root, child, prefix);
+                }
+            }
+            return;
+        }
+
+        String name = root.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+        if (!name.startsWith(prefix) || name.startsWith("META-INF/")) {
+            return;
+        }
+
+        jar.putNextEntry(new JarEntry(name));
+        try (InputStream input = new FileInputStream(file)) {
+            input.transferTo(jar);
+        }
+        jar.closeEntry();
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (name.equals(args[i])) {
+                return Integer.parseInt(args[i + 1]);
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * 单次运行的测量结果，时间均相对于进程创建
+     */
+    private static class RunResult {
+        long firstOutputNanos;
+        long doneNanos;
+        long exitNanos;
+        long stubLines;
+        long stubBytes;
+        int exitCode;
+    }
+}
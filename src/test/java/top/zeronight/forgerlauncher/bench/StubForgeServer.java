@@ -0,0 +1,121 @@
+package top.zeronight.forgerlauncher.bench;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * 模拟 Forge 服务端的桩程序，用于在没有真实服务端的情况下测试启动器
+ * 启动后输出指定数量的日志（其中穿插 "Can't keep up" 行），随后输出 "Done" 并从 stdin 读取命令
+ *
+ * <p>支持的参数：
+ * <ul>
+ *     <li>--lines N：启动阶段输出的日志行数（默认 1000）</li>
+ *     <li>--line-bytes N：每行日志的大致字节数（默认 120）</li>
+ *     <li>--lag-every N：每 N 行输出一次 "Can't keep up"（默认 0，不输出）</li>
+ *     <li>--exit-after-done：输出 Done 后立即退出</li>
+ *     <li>--exit-code N：stdin 关闭或 --exit-after-done 时的退出码（默认 0）</li>
+ *     <li>--stop-exit-code N：收到 stop 命令后的退出码（默认 0）</li>
+ * </ul>
+ *
+ * <p>支持的 stdin 命令：stop、exit &lt;code&gt;、spam &lt;lines&gt;，其余命令原样回显
+ */
+public class StubForgeServer {
+
+    public static final String BOOT_MARKER = "[StubForgeServer] boot";
+
+    private static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat("ddMMMyyyy HH:mm:ss.SSS");
+    private static long lastStampMillis = -1;
+    private static String lastStamp;
+
+    public static void main(String[] args) throws IOException {
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, 64 * 1024), false);
+        long startedAt = System.nanoTime();
+
+        int lines = intArg(args, "--lines", 1000);
+        int lineBytes = intArg(args, "--line-bytes", 120);
+        int lagEvery = intArg(args, "--lag-every", 0);
+        int exitCode = intArg(args, "--exit-code", 0);
+        int stopExitCode = intArg(args, "--stop-exit-code", 0);
+        boolean exitAfterDone = Arrays.asList(args).contains("--exit-after-done");
+
+        out.println(BOOT_MARKER + " args=" + String.join(" ", args));
+        out.flush();
+
+        spam(out, lines, lineBytes, lagEvery);
+
+        double startupSeconds = (System.nanoTime() - startedAt) / 1e9;
+        out.println(prefix("Server thread", "INFO") + String.format("Done (%.3fs)! For help, type \"help\"", startupSeconds));
+        out.flush();
+
+        if (exitAfterDone) {
+            System.exit(exitCode);
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+        String command;
+        while ((command = reader.readLine()) != null) {
+            command = command.trim();
+            if ("stop".equals(command)) {
+                out.println(prefix("Server thread", "INFO") + "Stopping the server");
+                out.println(prefix("Server thread", "INFO") + "Saving worlds");
+                out.println(prefix("Server thread", "INFO") + "ThreadedAnvilChunkStorage: All dimensions are saved");
+                out.flush();
+                System.exit(stopExitCode);
+            } else if (command.startsWith("exit ")) {
+                out.flush();
+                System.exit(Integer.parseInt(command.substring(5).trim()));
+            } else if (command.startsWith("spam ")) {
+                spam(out, Integer.parseInt(command.substring(5).trim()), lineBytes, lagEvery);
+                out.println(prefix("Server thread", "INFO") + "spam finished");
+            } else {
+                out.println(prefix("Server thread", "INFO") + "Unknown command: " + command);
+            }
+            out.flush();
+        }
+
+        out.flush();
+        System.exit(exitCode);
+    }
+
+    private static void spam(PrintStream out, int lines, int lineBytes, int lagEvery) {
+        StringBuilder padding = new StringBuilder();
+        while (padding.length() < lineBytes) {
+            padding.append("Loading mod resources and registries ");
+        }
+        String body = padding.substring(0, Math.max(0, lineBytes - 50));
+
+        for (int i = 1; i <= lines; i++) {
+            if (lagEvery > 0 && i % lagEvery == 0) {
+                out.println(prefix("Server thread", "WARN")
+                        + "Can't keep up! Is the server overloaded? Running 2034ms or 40 ticks behind");
+            } else {
+                out.println(prefix("modloading-worker-0", "INFO") + i + " " + body);
+            }
+        }
+        out.flush();
+    }
+
+    private static String prefix(String thread, String level) {
+        long now = System.currentTimeMillis();
+        if (now != lastStampMillis) {
+            lastStampMillis = now;
+            lastStamp = TIME_FORMAT.format(new Date(now));
+        }
+        return "[" + lastStamp + "] [" + thread + "/" + level + "] [minecraft/DedicatedServer]: ";
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (name.equals(args[i])) {
+                return Integer.parseInt(args[i + 1]);
+            }
+        }
+        return defaultValue;
+    }
+}